@@ -0,0 +1,39 @@
+package com.qblog.common.cache;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量读取缓存的结果
+ * hits 按请求顺序保存命中的值，missingKeys 为未命中（或命中空值标记）的 key
+ */
+public class CacheBatchResult<T> {
+
+    private final Map<String, T> hits;
+    private final List<String> missingKeys;
+
+    public CacheBatchResult(Map<String, T> hits, List<String> missingKeys) {
+        this.hits = Collections.unmodifiableMap(hits);
+        this.missingKeys = Collections.unmodifiableList(missingKeys);
+    }
+
+    public Map<String, T> getHits() {
+        return hits;
+    }
+
+    public List<String> getMissingKeys() {
+        return missingKeys;
+    }
+
+    public T get(String key) {
+        return hits.get(key);
+    }
+
+    /**
+     * 是否全部命中
+     */
+    public boolean isComplete() {
+        return missingKeys.isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.qblog.common.cache;
+
+import java.util.List;
+
+/**
+ * 缓存编解码器
+ */
+public interface CacheCodec {
+
+    /**
+     * 编码缓存值
+     */
+    byte[] encode(Object value);
+
+    /**
+     * 解码缓存值
+     */
+    <T> T decode(byte[] data, Class<T> type);
+
+    /**
+     * 解码缓存列表
+     */
+    <T> List<T> decodeList(byte[] data, Class<T> elementType);
+
+    /**
+     * 是否能识别该数据格式
+     */
+    boolean canDecode(byte[] data);
+}
@@ -0,0 +1,86 @@
+package com.qblog.common.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 缓存编解码器注册表
+ * 写入时按 key 前缀选择编解码器（未配置的前缀使用 JSON），
+ * 读取时按数据首字节识别格式，因此切换编码后旧的 JSON 条目仍可正常读取，随 TTL 过期自然迁移
+ * 编码结果前附加写入时间（0x03 + 8 字节 epoch 毫秒），写入的 TTL 带随机抖动，是否超过 softTtl 按写入时间判断
+ */
+public class CacheCodecRegistry {
+
+    /**
+     * 空值标记（loader 返回 null 时写入），与 JSON 和 Smile 格式均不冲突
+     */
+    private static final byte[] NULL_VALUE = {0x00};
+
+    private static final byte WRITE_TIME_MARKER = 0x03;
+    private static final int WRITE_TIME_HEADER_LENGTH = 1 + Long.BYTES;
+
+    private final CacheCodec jsonCodec = new JsonCacheCodec();
+    private final CacheCodec binaryCodec;
+    private final List<String> binaryPrefixes;
+
+    public CacheCodecRegistry(List<String> binaryPrefixes, int compressThreshold) {
+        this.binaryPrefixes = List.copyOf(binaryPrefixes);
+        this.binaryCodec = new SmileCacheCodec(compressThreshold);
+    }
+
+    public byte[] encode(String key, Object value) {
+        byte[] data = codecForKey(key).encode(value);
+        return ByteBuffer.allocate(WRITE_TIME_HEADER_LENGTH + data.length)
+                .put(WRITE_TIME_MARKER)
+                .putLong(System.currentTimeMillis())
+                .put(data)
+                .array();
+    }
+
+    public <T> T decode(byte[] data, Class<T> type) {
+        byte[] payload = payload(data);
+        return codecForData(payload).decode(payload, type);
+    }
+
+    public <T> List<T> decodeList(byte[] data, Class<T> elementType) {
+        byte[] payload = payload(data);
+        return codecForData(payload).decodeList(payload, elementType);
+    }
+
+    /**
+     * 写入时间（epoch 毫秒），不带写入时间的旧条目返回 -1
+     */
+    public long writeTime(byte[] data) {
+        return hasWriteTime(data) ? ByteBuffer.wrap(data, 1, Long.BYTES).getLong() : -1;
+    }
+
+    public byte[] nullValue() {
+        return NULL_VALUE.clone();
+    }
+
+    public boolean isNullValue(byte[] data) {
+        return data.length == 1 && data[0] == NULL_VALUE[0];
+    }
+
+    private static boolean hasWriteTime(byte[] data) {
+        return data.length > WRITE_TIME_HEADER_LENGTH && data[0] == WRITE_TIME_MARKER;
+    }
+
+    private static byte[] payload(byte[] data) {
+        return hasWriteTime(data) ? Arrays.copyOfRange(data, WRITE_TIME_HEADER_LENGTH, data.length) : data;
+    }
+
+    private CacheCodec codecForKey(String key) {
+        for (String prefix : binaryPrefixes) {
+            if (key.startsWith(prefix)) {
+                return binaryCodec;
+            }
+        }
+        return jsonCodec;
+    }
+
+    private CacheCodec codecForData(byte[] data) {
+        return binaryCodec.canDecode(data) ? binaryCodec : jsonCodec;
+    }
+}
@@ -0,0 +1,135 @@
+package com.qblog.common.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 缓存指标（Micrometer）
+ * 按 key 的命名空间（前两段，如 article:detail）打标签，可通过 /actuator/metrics/cache.* 查看：
+ * cache.gets（result=hit/miss）、cache.loads（result=success/failure）、cache.lock.contention、cache.load.time
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, NamespaceMeters> meters = new ConcurrentHashMap<>();
+
+    public void recordHit(String key) {
+        meters(key).hits.increment();
+    }
+
+    public void recordMiss(String key) {
+        meters(key).misses.increment();
+    }
+
+    /**
+     * 等待其他调用者（本节点或其他节点）加载同一个 key
+     */
+    public void recordLockContention(String key) {
+        meters(key).lockContention.increment();
+    }
+
+    /**
+     * 执行 loader 并记录耗时及成功/失败次数
+     */
+    public <T> T recordLoad(String key, Supplier<T> loader) {
+        NamespaceMeters namespaceMeters = meters(key);
+        long start = System.nanoTime();
+        try {
+            T result = loader.get();
+            namespaceMeters.loadSuccesses.increment();
+            return result;
+        } catch (RuntimeException | Error e) {
+            namespaceMeters.loadFailures.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            namespaceMeters.loadTime.record(elapsed, TimeUnit.NANOSECONDS);
+            namespaceMeters.updateAverageLoadNanos(elapsed);
+        }
+    }
+
+    /**
+     * 命名空间最近的平均加载耗时（毫秒，指数加权），尚未加载过时返回 0
+     */
+    public double averageLoadMillis(String key) {
+        NamespaceMeters namespaceMeters = meters.get(namespace(key));
+        return namespaceMeters == null ? 0 : namespaceMeters.averageLoadNanos / 1_000_000.0;
+    }
+
+    private NamespaceMeters meters(String key) {
+        return meters.computeIfAbsent(namespace(key), this::createMeters);
+    }
+
+    /**
+     * 取 key 的前两段作为命名空间，如 article:detail:1 -> article:detail，article:hot:v3:10 -> article:hot
+     */
+    static String namespace(String key) {
+        int first = key.indexOf(':');
+        if (first < 0) {
+            return key;
+        }
+        int second = key.indexOf(':', first + 1);
+        return second < 0 ? key : key.substring(0, second);
+    }
+
+    private NamespaceMeters createMeters(String namespace) {
+        return new NamespaceMeters(
+                Counter.builder("cache.gets").tag("namespace", namespace).tag("result", "hit")
+                        .description("缓存命中次数").register(meterRegistry),
+                Counter.builder("cache.gets").tag("namespace", namespace).tag("result", "miss")
+                        .description("缓存未命中次数").register(meterRegistry),
+                Counter.builder("cache.loads").tag("namespace", namespace).tag("result", "success")
+                        .description("回源加载成功次数").register(meterRegistry),
+                Counter.builder("cache.loads").tag("namespace", namespace).tag("result", "failure")
+                        .description("回源加载失败次数").register(meterRegistry),
+                Counter.builder("cache.lock.contention").tag("namespace", namespace)
+                        .description("等待其他调用者加载的次数").register(meterRegistry),
+                Timer.builder("cache.load.time").tag("namespace", namespace)
+                        .description("回源加载耗时")
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+    }
+
+    private static class NamespaceMeters {
+
+        // 新样本的权重
+        private static final double EWMA_ALPHA = 0.2;
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Counter loadSuccesses;
+        private final Counter loadFailures;
+        private final Counter lockContention;
+        private final Timer loadTime;
+
+        // 并发更新时可能丢失个别样本，不影响估算
+        private volatile double averageLoadNanos;
+
+        NamespaceMeters(Counter hits, Counter misses, Counter loadSuccesses, Counter loadFailures,
+                        Counter lockContention, Timer loadTime) {
+            this.hits = hits;
+            this.misses = misses;
+            this.loadSuccesses = loadSuccesses;
+            this.loadFailures = loadFailures;
+            this.lockContention = lockContention;
+            this.loadTime = loadTime;
+        }
+
+        void updateAverageLoadNanos(long sample) {
+            double current = averageLoadNanos;
+            averageLoadNanos = current == 0 ? sample : current + EWMA_ALPHA * (sample - current);
+        }
+    }
+}
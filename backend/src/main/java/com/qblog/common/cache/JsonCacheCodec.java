@@ -0,0 +1,33 @@
+package com.qblog.common.cache;
+
+import cn.hutool.json.JSONUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * JSON 编解码器（Hutool）
+ * 原有缓存格式，可读性好，用于兼容已有的缓存条目
+ */
+public class JsonCacheCodec implements CacheCodec {
+
+    @Override
+    public byte[] encode(Object value) {
+        return JSONUtil.toJsonStr(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) {
+        return JSONUtil.toBean(new String(data, StandardCharsets.UTF_8), type);
+    }
+
+    @Override
+    public <T> List<T> decodeList(byte[] data, Class<T> elementType) {
+        return JSONUtil.toList(new String(data, StandardCharsets.UTF_8), elementType);
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return true;
+    }
+}
@@ -0,0 +1,61 @@
+package com.qblog.common.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * 不可变的 long 键映射
+ * 键按升序存放在 long[] 中，二分查找，避免 Long 装箱和 HashMap 节点开销；构建后只读，可被多线程共享
+ */
+public final class LongObjectMap<V> {
+
+    private final long[] keys;
+    private final Object[] values;
+
+    private LongObjectMap(long[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * 由集合构建，键重复时保留后出现的值
+     */
+    public static <T, V> LongObjectMap<V> of(Iterable<T> items, Function<T, Long> keyMapper,
+                                             Function<T, V> valueMapper) {
+        Map<Long, V> sorted = new TreeMap<>();
+        for (T item : items) {
+            Long key = keyMapper.apply(item);
+            if (key != null) {
+                sorted.put(key, valueMapper.apply(item));
+            }
+        }
+        long[] keys = new long[sorted.size()];
+        Object[] values = new Object[sorted.size()];
+        int i = 0;
+        for (Map.Entry<Long, V> entry : sorted.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+        return new LongObjectMap<>(keys, values);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? (V) values[index] : null;
+    }
+
+    /**
+     * 键为 null 时返回 null
+     */
+    public V get(Long key) {
+        return key == null ? null : get(key.longValue());
+    }
+
+    public int size() {
+        return keys.length;
+    }
+}
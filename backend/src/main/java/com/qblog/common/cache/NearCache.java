@@ -0,0 +1,94 @@
+package com.qblog.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.util.PatternMatchUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 近端缓存（L1）
+ * 在 JVM 内缓存反序列化后的对象，仅对指定前缀的 key 生效
+ * 有效期取近端缓存 TTL 与调用方 TTL 中的较小值
+ */
+public class NearCache {
+
+    private final Cache<String, Object> cache;
+    private final Policy.VarExpiration<String, Object> expiration;
+    private final List<String> prefixes;
+    private final Duration ttl;
+
+    public NearCache(Duration ttl, long maxSize, List<String> prefixes) {
+        this.ttl = ttl;
+        this.prefixes = List.copyOf(prefixes);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new FixedExpiry(ttl.toNanos()))
+                .recordStats()
+                .build();
+        this.expiration = cache.policy().expireVariably().orElseThrow();
+    }
+
+    /**
+     * 是否对该 key 启用近端缓存
+     */
+    public boolean accepts(String key) {
+        for (String prefix : prefixes) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Object get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, Object value, Duration valueTtl) {
+        Duration effective = valueTtl.compareTo(ttl) < 0 ? valueTtl : ttl;
+        expiration.put(key, value, effective.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 失效单个 key 或匹配模式（支持 * 通配符）的所有 key
+     */
+    public void invalidate(String keyOrPattern) {
+        if (keyOrPattern.indexOf('*') >= 0) {
+            cache.asMap().keySet().removeIf(key -> PatternMatchUtils.simpleMatch(keyOrPattern, key));
+        } else {
+            cache.invalidate(keyOrPattern);
+        }
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private record FixedExpiry(long ttlNanos) implements Expiry<String, Object> {
+
+        @Override
+        public long expireAfterCreate(String key, Object value, long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.qblog.common.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * JVM 内请求合并
+ * 同一 key 并发加载时，只有第一个调用者执行 loader，其余调用者等待并共享同一结果（包括异常）
+ */
+public class SingleFlight {
+
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 执行 loader，同一 key 同一时刻只有一个 loader 在执行
+     *
+     * @param key     合并的 key
+     * @param timeout 等待其他调用者结果的最长时间，超时后自行执行 loader
+     * @param loader  数据加载器
+     */
+    public <T> T execute(String key, Duration timeout, Supplier<T> loader) {
+        return execute(key, timeout, loader, null);
+    }
+
+    /**
+     * 执行 loader，同一 key 同一时刻只有一个 loader 在执行
+     *
+     * @param onJoin 需要等待其他调用者的结果时回调（可为 null）
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Duration timeout, Supplier<T> loader, Runnable onJoin) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing == null) {
+            try {
+                T result = loader.get();
+                future.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, future);
+            }
+        }
+
+        if (onJoin != null) {
+            onJoin.run();
+        }
+        try {
+            return (T) existing.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            // 等待超时，降级为自行加载
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return loader.get();
+        }
+    }
+
+    /**
+     * 当前正在加载的 key 数量
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,102 @@
+package com.qblog.common.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 二进制编解码器（Jackson Smile）
+ * 首字节为格式标记：0x01 未压缩，0x02 deflate 压缩；超过阈值的数据自动压缩
+ * 按类型缓存 ObjectReader，避免每次命中都重新解析类型信息
+ */
+public class SmileCacheCodec implements CacheCodec {
+
+    private static final byte FORMAT_SMILE = 0x01;
+    private static final byte FORMAT_SMILE_DEFLATE = 0x02;
+
+    private final SmileMapper mapper;
+    private final ObjectWriter writer;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectReader> listReaders = new ConcurrentHashMap<>();
+    private final int compressThreshold;
+
+    public SmileCacheCodec(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+        this.mapper = SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        this.writer = mapper.writer();
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            byte[] smile = writer.writeValueAsBytes(value);
+            boolean compress = smile.length >= compressThreshold;
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compress ? smile.length / 2 : smile.length + 1);
+            out.write(compress ? FORMAT_SMILE_DEFLATE : FORMAT_SMILE);
+            if (compress) {
+                Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+                try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+                    deflaterOut.write(smile);
+                } finally {
+                    deflater.end();
+                }
+            } else {
+                out.write(smile);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode cache value", e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] data, Class<T> type) {
+        ObjectReader reader = readers.computeIfAbsent(type, mapper::readerFor);
+        return read(reader, data);
+    }
+
+    @Override
+    public <T> List<T> decodeList(byte[] data, Class<T> elementType) {
+        ObjectReader reader = listReaders.computeIfAbsent(elementType, type -> {
+            JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, type);
+            return mapper.readerFor(listType);
+        });
+        return read(reader, data);
+    }
+
+    @Override
+    public boolean canDecode(byte[] data) {
+        return data.length > 0 && (data[0] == FORMAT_SMILE || data[0] == FORMAT_SMILE_DEFLATE);
+    }
+
+    private <T> T read(ObjectReader reader, byte[] data) {
+        try {
+            if (data[0] == FORMAT_SMILE) {
+                return reader.readValue(data, 1, data.length - 1);
+            }
+            try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(data, 1, data.length - 1))) {
+                return reader.readValue(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode cache value", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.qblog.common.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * TTL 策略
+ * 1. 随机抖动：写入时把 TTL 随机缩短最多 jitterRatio，避免同一时刻写入的 key 同时过期
+ * 2. 提前刷新（XFetch）：剩余 TTL 越短、加载越慢，越可能在过期前提前刷新，
+ *    判定条件为 -delta * beta * ln(random) >= remaining，delta 为观测到的加载耗时
+ */
+public class TtlPolicy {
+
+    private final double jitterRatio;
+    private final double beta;
+
+    public TtlPolicy(double jitterRatio, double beta) {
+        this.jitterRatio = Math.max(0, Math.min(jitterRatio, 1));
+        this.beta = Math.max(0, beta);
+    }
+
+    /**
+     * 返回随机缩短后的 TTL（不超过原 TTL）
+     */
+    public Duration jitter(Duration ttl) {
+        long millis = ttl.toMillis();
+        if (jitterRatio == 0 || millis <= 1) {
+            return ttl;
+        }
+        long cut = (long) (millis * jitterRatio * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(millis - cut);
+    }
+
+    /**
+     * 是否提前刷新
+     *
+     * @param remainingMillis 剩余 TTL（毫秒，负数表示未知）
+     * @param loadMillis      平均加载耗时（毫秒）
+     */
+    public boolean shouldRefreshEarly(long remainingMillis, double loadMillis) {
+        if (beta == 0 || remainingMillis < 0 || loadMillis <= 0) {
+            return false;
+        }
+        double random = ThreadLocalRandom.current().nextDouble();
+        return -loadMillis * beta * Math.log(random) >= remainingMillis;
+    }
+}
@@ -0,0 +1,131 @@
+package com.qblog.common.search;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.http.HtmlUtil;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 搜索结果高亮
+ * 输出已转义的 HTML，命中的查询词用 &lt;em&gt; 包裹，相邻的命中合并为一段
+ */
+public final class Highlighter {
+
+    private static final String ELLIPSIS = "…";
+
+    private static final Pattern CODE_FENCE = Pattern.compile("```[^\\n]*");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)]\\([^)]*\\)");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern MARKDOWN_SYMBOL = Pattern.compile("[#>*_`~|]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private Highlighter() {
+    }
+
+    /**
+     * 去除 Markdown / HTML 标记，得到用于索引和摘要的纯文本
+     */
+    public static String plainText(String markdown) {
+        if (StrUtil.isEmpty(markdown)) {
+            return "";
+        }
+        String text = CODE_FENCE.matcher(markdown).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll("$1");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = MARKDOWN_SYMBOL.matcher(text).replaceAll(" ");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * 高亮整段文本
+     */
+    public static String highlight(String text, Collection<String> terms) {
+        if (StrUtil.isEmpty(text)) {
+            return "";
+        }
+        return render(text, matchMask(text, terms));
+    }
+
+    /**
+     * 截取第一个命中位置附近的片段并高亮，没有命中时取开头
+     */
+    public static String snippet(String text, Collection<String> terms, int maxLength) {
+        if (StrUtil.isEmpty(text)) {
+            return "";
+        }
+        boolean[] mask = matchMask(text, terms);
+        if (text.length() <= maxLength) {
+            return render(text, mask);
+        }
+        int firstMatch = 0;
+        while (firstMatch < mask.length && !mask[firstMatch]) {
+            firstMatch++;
+        }
+        if (firstMatch == mask.length) {
+            firstMatch = 0;
+        }
+        int start = Math.max(0, Math.min(firstMatch - maxLength / 4, text.length() - maxLength));
+        int end = Math.min(text.length(), start + maxLength);
+        if (start > 0 && Character.isLowSurrogate(text.charAt(start))) {
+            start++;
+        }
+        if (end < text.length() && Character.isLowSurrogate(text.charAt(end))) {
+            end--;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        if (start > 0) {
+            builder.append(ELLIPSIS);
+        }
+        boolean[] windowMask = new boolean[end - start];
+        System.arraycopy(mask, start, windowMask, 0, windowMask.length);
+        builder.append(render(text.substring(start, end), windowMask));
+        if (end < text.length()) {
+            builder.append(ELLIPSIS);
+        }
+        return builder.toString();
+    }
+
+    private static boolean[] matchMask(String text, Collection<String> terms) {
+        boolean[] mask = new boolean[text.length()];
+        String lower = text.toLowerCase(Locale.ROOT);
+        // 个别字符转小写后长度会变化，此时放弃高亮，避免位置错位
+        if (lower.length() != text.length() || terms == null) {
+            return mask;
+        }
+        for (String term : terms) {
+            int from = 0;
+            int index;
+            while ((index = lower.indexOf(term, from)) >= 0) {
+                for (int i = index; i < index + term.length(); i++) {
+                    mask[i] = true;
+                }
+                from = index + 1;
+            }
+        }
+        return mask;
+    }
+
+    private static String render(String text, boolean[] mask) {
+        StringBuilder builder = new StringBuilder(text.length() + 16);
+        int i = 0;
+        while (i < text.length()) {
+            int end = i;
+            while (end < text.length() && mask[end] == mask[i]) {
+                end++;
+            }
+            String escaped = HtmlUtil.escape(text.substring(i, end));
+            if (mask[i]) {
+                builder.append("<em>").append(escaped).append("</em>");
+            } else {
+                builder.append(escaped);
+            }
+            i = end;
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package com.qblog.common.search;
+
+/**
+ * 被索引的文档（内容为去除 Markdown 标记后的纯文本）
+ *
+ * @param version 文档版本（文章更新时间戳），用于判断是否需要重新索引
+ */
+public record IndexedDocument(long id, long version, String title, String summary, String content) {
+}
@@ -0,0 +1,264 @@
+package com.qblog.common.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 内存倒排索引
+ * 词项 -> (文档 ID -> 加权词频)，标题、摘要中的词项权重高于正文，按 BM25 计算相关度；
+ * 多个查询词之间为 OR 关系，按命中查询词的比例对得分加权，命中越完整排名越靠前。
+ * 读写锁保护，单篇文档的增删为增量操作
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TITLE_WEIGHT = 5;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private static final int MAGIC = 0x51425358;
+    private static final int FORMAT_VERSION = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, IndexedDocument> documents = new HashMap<>();
+    private final Map<Long, Map<String, Integer>> documentTerms = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * 添加或替换文档
+     */
+    public void put(IndexedDocument document) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, document.title(), TITLE_WEIGHT);
+        addTerms(terms, document.summary(), SUMMARY_WEIGHT);
+        addTerms(terms, document.content(), CONTENT_WEIGHT);
+        int length = terms.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(document.id());
+            documents.put(document.id(), document);
+            documentTerms.put(document.id(), terms);
+            documentLengths.put(document.id(), length);
+            totalLength += length;
+            terms.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, k -> new HashMap<>()).put(document.id(), frequency));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            documentTerms.clear();
+            documentLengths.clear();
+            postings.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IndexedDocument get(long id) {
+        lock.readLock().lock();
+        try {
+            return documents.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 当前所有文档的 ID -> 版本
+     */
+    public Map<Long, Long> versions() {
+        lock.readLock().lock();
+        try {
+            Map<Long, Long> versions = new HashMap<>(documents.size());
+            documents.forEach((id, document) -> versions.put(id, document.version()));
+            return versions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 搜索
+     *
+     * @param offset 跳过的命中数
+     * @param limit  返回的命中数
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenizeForQuery(query)));
+        if (terms.isEmpty()) {
+            return new SearchResult(0, List.of(), terms);
+        }
+
+        Map<Long, double[]> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0) {
+                return new SearchResult(0, List.of(), terms);
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                if (posting == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, frequency) -> {
+                    double normalized = K1 * (1 - B + B * documentLengths.get(id) / averageLength);
+                    double[] score = scores.computeIfAbsent(id, k -> new double[2]);
+                    score[0] += idf * frequency * (K1 + 1) / (frequency + normalized);
+                    score[1]++;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<SearchResult.Hit> hits = new ArrayList<>(scores.size());
+        scores.forEach((id, score) -> hits.add(new SearchResult.Hit(id, score[0] * score[1] / terms.size())));
+        hits.sort(Comparator.comparingDouble(SearchResult.Hit::score).reversed()
+                .thenComparing(Comparator.comparingLong(SearchResult.Hit::id).reversed()));
+
+        int from = Math.min(Math.max(offset, 0), hits.size());
+        int to = Math.min(from + Math.max(limit, 0), hits.size());
+        return new SearchResult(hits.size(), new ArrayList<>(hits.subList(from, to)), terms);
+    }
+
+    /**
+     * 将所有文档写入输出流（gzip），加载时重新分词，因此分词规则变化后旧快照仍可用
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        List<IndexedDocument> snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = new ArrayList<>(documents.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream);
+        DataOutputStream out = new DataOutputStream(gzip);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(snapshot.size());
+        for (IndexedDocument document : snapshot) {
+            out.writeLong(document.id());
+            out.writeLong(document.version());
+            writeString(out, document.title());
+            writeString(out, document.summary());
+            writeString(out, document.content());
+        }
+        out.flush();
+        gzip.finish();
+    }
+
+    /**
+     * 从输入流读取文档（writeTo 写入的格式）
+     */
+    public static List<IndexedDocument> readFrom(InputStream inputStream) throws IOException {
+        DataInputStream in = new DataInputStream(new GZIPInputStream(inputStream));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            throw new IOException("不支持的索引文件格式");
+        }
+        int count = in.readInt();
+        List<IndexedDocument> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(new IndexedDocument(in.readLong(), in.readLong(),
+                    readString(in), readString(in), readString(in)));
+        }
+        return documents;
+    }
+
+    /**
+     * 批量添加文档
+     */
+    public void putAll(Collection<IndexedDocument> documents) {
+        documents.forEach(this::put);
+    }
+
+    private void removeInternal(long id) {
+        if (documents.remove(id) == null) {
+            return;
+        }
+        Map<String, Integer> terms = documentTerms.remove(id);
+        totalLength -= documentLengths.remove(id);
+        terms.keySet().forEach(term -> {
+            Map<Long, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        });
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : TextTokenizer.tokenizeForIndex(text)) {
+            terms.merge(term, weight, Integer::sum);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,16 @@
+package com.qblog.common.search;
+
+import java.util.List;
+
+/**
+ * 搜索结果
+ *
+ * @param total 命中文档总数
+ * @param hits  当前页命中的文档，按得分从高到低
+ * @param terms 查询词（用于高亮）
+ */
+public record SearchResult(int total, List<Hit> hits, List<String> terms) {
+
+    public record Hit(long id, double score) {
+    }
+}
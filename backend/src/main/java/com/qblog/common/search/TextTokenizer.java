@@ -0,0 +1,94 @@
+package com.qblog.common.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 分词器
+ * 中日韩文字按相邻两字切分（二元分词），拉丁字母和数字按单词切分并转为小写，其余字符作为分隔符
+ * 建索引时额外输出单字，使单字查询也能命中；查询时只有单独的一个字才按单字匹配
+ */
+public final class TextTokenizer {
+
+    private static final int MIN_WORD_LENGTH = 2;
+    private static final int MAX_WORD_LENGTH = 40;
+
+    private TextTokenizer() {
+    }
+
+    /**
+     * 索引分词（包含单字）
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * 查询分词
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean includeUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int end = i;
+                while (end < length && isCjk(text.codePointAt(end))) {
+                    end += Character.charCount(text.codePointAt(end));
+                }
+                addCjkTokens(text.substring(i, end), includeUnigrams, tokens);
+                i = end;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int end = i;
+                while (end < length) {
+                    int next = text.codePointAt(end);
+                    if (!Character.isLetterOrDigit(next) || isCjk(next)) {
+                        break;
+                    }
+                    end += Character.charCount(next);
+                }
+                int wordLength = end - i;
+                if (wordLength >= MIN_WORD_LENGTH && wordLength <= MAX_WORD_LENGTH) {
+                    tokens.add(text.substring(i, end).toLowerCase(Locale.ROOT));
+                }
+                i = end;
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+
+    private static void addCjkTokens(String run, boolean includeUnigrams, List<String> tokens) {
+        int[] codePoints = run.codePoints().toArray();
+        if (codePoints.length == 1) {
+            tokens.add(run);
+            return;
+        }
+        for (int i = 0; i < codePoints.length; i++) {
+            if (includeUnigrams) {
+                tokens.add(new String(codePoints, i, 1));
+            }
+            if (i + 1 < codePoints.length) {
+                tokens.add(new String(codePoints, i, 2));
+            }
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,32 @@
+package com.qblog.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 缓存相关配置
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CacheConfig {
+
+    private final CacheProperties cacheProperties;
+
+    /**
+     * 缓存后台刷新线程池（有界队列，队列满时拒绝任务）
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cacheRefreshExecutor() {
+        CacheProperties.Refresh refresh = cacheProperties.getRefresh();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refresh.getThreads());
+        executor.setMaxPoolSize(refresh.getThreads());
+        executor.setQueueCapacity(refresh.getQueueCapacity());
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,172 @@
+package com.qblog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 缓存配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    /**
+     * 本地缓存配置（Redis 禁用时使用）
+     */
+    private Local local = new Local();
+
+    /**
+     * 近端缓存配置（Redis 启用时，在 JVM 内缓存 Redis 中的热点数据）
+     */
+    private Near near = new Near();
+
+    /**
+     * 后台刷新配置（stale-while-revalidate）
+     */
+    private Refresh refresh = new Refresh();
+
+    /**
+     * Redis 缓存值编码配置
+     */
+    private Codec codec = new Codec();
+
+    /**
+     * TTL 策略配置（随机抖动、提前刷新）
+     */
+    private Ttl ttl = new Ttl();
+
+    /**
+     * 启动预热配置
+     */
+    private WarmUp warmUp = new WarmUp();
+
+    /**
+     * 文章列表分页缓存配置
+     */
+    private ListPage listPage = new ListPage();
+
+    @Data
+    public static class Local {
+
+        /**
+         * 最大权重（按缓存值序列化后的字符数估算，约等于字节数）
+         * 默认 64MB
+         */
+        private long maxWeight = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Near {
+
+        /**
+         * 是否启用近端缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 近端缓存有效期（不会超过 Redis 中的 TTL）
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * 最大条目数
+         */
+        private long maxSize = 10000;
+
+        /**
+         * 启用近端缓存的 key 前缀
+         */
+        private List<String> prefixes = new ArrayList<>(List.of("article:detail:", "article:item:", "article:page:", "article:hot", "article:latest"));
+
+        /**
+         * 缓存失效广播频道
+         */
+        private String channel = "cache:invalidate";
+    }
+
+    @Data
+    public static class Refresh {
+
+        /**
+         * 后台刷新线程数
+         */
+        private int threads = 2;
+
+        /**
+         * 刷新任务队列容量，队列满时放弃本次刷新（继续返回旧值）
+         */
+        private int queueCapacity = 100;
+    }
+
+    @Data
+    public static class Codec {
+
+        /**
+         * 使用二进制编码（Smile）的 key 前缀，其余 key 使用 JSON
+         */
+        private List<String> binaryPrefixes = new ArrayList<>(List.of("article:detail:", "article:item:", "article:page:", "article:hot", "article:latest"));
+
+        /**
+         * 超过该字节数的二进制数据使用 deflate 压缩
+         */
+        private int compressThreshold = 1024;
+    }
+
+    @Data
+    public static class Ttl {
+
+        /**
+         * TTL 随机缩短的最大比例，避免同时写入的缓存同时过期（0 表示不抖动）
+         */
+        private double jitterRatio = 0.1;
+
+        /**
+         * 提前刷新系数（XFetch 的 beta），越大越早刷新（0 表示关闭）
+         */
+        private double earlyRefreshBeta = 1.0;
+    }
+
+    @Data
+    public static class WarmUp {
+
+        /**
+         * 是否在启动后预热缓存
+         */
+        private boolean enabled = true;
+
+        /**
+         * 并发加载数
+         */
+        private int concurrency = 4;
+
+        /**
+         * 预热时间上限，超时后放弃剩余任务，服务照常就绪
+         */
+        private Duration timeout = Duration.ofSeconds(30);
+
+        /**
+         * 预热热门/最新文章的 limit 取值（与前端常用参数一致）
+         */
+        private List<Integer> limits = new ArrayList<>(List.of(5, 10));
+
+        /**
+         * 预热浏览量最高的文章详情数量
+         */
+        private int topDetails = 50;
+    }
+
+    @Data
+    public static class ListPage {
+
+        /**
+         * 缓存前 N 页（无关键词搜索时），之后的页直接查询数据库
+         */
+        private int maxPages = 3;
+    }
+}
@@ -0,0 +1,26 @@
+package com.qblog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 热门文章排名配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hot-ranking")
+public class HotRankingProperties {
+
+    /**
+     * 热度半衰期：一次浏览的贡献每经过一个半衰期减半
+     */
+    private Duration halfLife = Duration.ofHours(6);
+
+    /**
+     * 排名中保留的文章数，定时裁剪热度最低的文章
+     */
+    private int maxSize = 1000;
+}
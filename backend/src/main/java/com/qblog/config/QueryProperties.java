@@ -0,0 +1,31 @@
+package com.qblog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 并行查询配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "query")
+public class QueryProperties {
+
+    /**
+     * 并行查询线程数，每个线程最多占用一个数据库连接，需明显小于连接池大小
+     */
+    private int threads = 8;
+
+    /**
+     * 等待队列容量，队列满时在请求线程中顺序执行
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 等待并行查询结果的最长时间，超时后请求失败
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+}
@@ -0,0 +1,24 @@
+package com.qblog.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 全文搜索配置
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    /**
+     * 索引快照文件，启动时先加载快照，再与数据库比对增量更新（为空时不持久化）
+     */
+    private String indexFile = "search/article-index.bin";
+
+    /**
+     * 正文摘要片段的最大长度（字符数）
+     */
+    private int snippetLength = 120;
+}
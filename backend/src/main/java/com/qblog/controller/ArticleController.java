@@ -6,13 +6,18 @@ import com.qblog.common.annotation.RateLimit;
 import com.qblog.entity.Article;
 import com.qblog.model.dto.ArticleDTO;
 import com.qblog.model.vo.ArticleListItemVO;
+import com.qblog.model.vo.ArticleScrollVO;
+import com.qblog.model.vo.ArticleSearchHitVO;
 import com.qblog.model.vo.ArticleVO;
 import com.qblog.service.ArticleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * 文章控制器
@@ -33,6 +38,8 @@ public class ArticleController {
             @RequestParam(defaultValue = "10") Integer size,
             @RequestParam(required = false) Long categoryId,
             @RequestParam(required = false) Long tagId,
+            @RequestParam(required = false) List<Long> tagIds,
+            @RequestParam(defaultValue = "any") String tagMatch,
             @RequestParam(required = false) String keyword,
             @RequestParam(defaultValue = "publishTime") String sortBy,
             @RequestParam(defaultValue = "desc") String sortOrder) {
@@ -40,7 +47,45 @@ public class ArticleController {
         if (page < 1) page = 1;
         if (size < 1) size = 10;
         if (size > 100) size = 100; // 限制最大页面大小
-        return Result.success(articleService.getArticleList(page, size, categoryId, tagId, keyword, sortBy, sortOrder));
+
+        // tagId 与 tagIds 合并，tagMatch=all 时需包含全部标签
+        LinkedHashSet<Long> tags = new LinkedHashSet<>();
+        if (tagId != null) tags.add(tagId);
+        if (tagIds != null) tagIds.stream().filter(Objects::nonNull).limit(10).forEach(tags::add); // 限制标签数量
+        return Result.success(articleService.getArticleList(page, size, categoryId, new ArrayList<>(tags),
+                "all".equalsIgnoreCase(tagMatch), keyword, sortBy, sortOrder));
+    }
+
+    /**
+     * 游标分页获取文章列表（公开接口，用于无限滚动，不返回总数）
+     */
+    @GetMapping("/scroll")
+    public Result<ArticleScrollVO> getArticleScroll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long tagId) {
+        // 参数验证
+        if (size < 1) size = 10;
+        if (size > 100) size = 100; // 限制最大页面大小
+        return Result.success(articleService.getArticleScroll(cursor, size, categoryId, tagId));
+    }
+
+    /**
+     * 全文搜索文章（公开接口，按相关度排序，返回高亮片段）
+     */
+    @GetMapping("/search")
+    @RateLimit(key = "search_article", period = 60, count = 60, limitType = RateLimit.LimitType.IP)
+    public Result<Page<ArticleSearchHitVO>> searchArticles(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "1") Integer page,
+            @RequestParam(defaultValue = "10") Integer size) {
+        // 参数验证
+        if (page < 1) page = 1;
+        if (size < 1) size = 10;
+        if (size > 50) size = 50;
+        if (q.length() > 100) q = q.substring(0, 100); // 限制查询长度
+        return Result.success(articleService.searchArticles(q, page, size));
     }
 
     /**
@@ -54,12 +99,14 @@ public class ArticleController {
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) Integer status,
             @RequestParam(defaultValue = "createTime") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "false") Boolean exactCount) {
         // 参数验证
         if (page < 1) page = 1;
         if (size < 1) size = 10;
         if (size > 100) size = 100; // 限制最大页面大小
-        return Result.success(articleService.getAdminArticleList(page, size, categoryId, keyword, status, sortBy, sortOrder));
+        return Result.success(articleService.getAdminArticleList(page, size, categoryId, keyword, status,
+                sortBy, sortOrder, Boolean.TRUE.equals(exactCount)));
     }
 
     /**
@@ -127,7 +174,7 @@ public class ArticleController {
     }
 
     /**
-     * 获取相关文章（基于共同标签）
+     * 获取相关文章（基于共同标签，按标签稀有程度和发布时间加权）
      */
     @GetMapping("/{id}/related")
     public Result<List<ArticleListItemVO>> getRelatedArticles(
@@ -1,6 +1,8 @@
 package com.qblog.controller;
 
 import com.qblog.common.Result;
+import com.qblog.service.CacheService;
+import com.qblog.service.CacheWarmUpService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
@@ -22,6 +24,8 @@ import java.util.Map;
 public class HealthController {
 
     private final DataSource dataSource;
+    private final CacheService cacheService;
+    private final CacheWarmUpService cacheWarmUpService;
 
     @Autowired(required = false)
     private RedisConnectionFactory redisConnectionFactory;
@@ -69,10 +73,26 @@ public class HealthController {
             status.put("redis", "DISABLED");
         }
 
+        // 缓存预热完成前不接收流量
+        if (cacheWarmUpService.isFinished()) {
+            status.put("cache", "UP");
+        } else {
+            status.put("cache", "WARMING");
+            status.putIfAbsent("status", "DOWN");
+        }
+
         if (!status.containsKey("status")) {
             status.put("status", "UP");
         }
 
         return Result.success(status);
     }
-}
\ No newline at end of file
+
+    /**
+     * 缓存统计 - 各层缓存命中率
+     */
+    @GetMapping("/cache")
+    public Result<Map<String, Object>> cacheStats() {
+        return Result.success(cacheService.getStats());
+    }
+}
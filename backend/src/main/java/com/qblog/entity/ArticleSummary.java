@@ -0,0 +1,101 @@
+package com.qblog.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 文章列表读模型
+ * 由文章、作者、分类、标签冗余组成，写文章时同步维护，公开列表只查询这一张表
+ */
+@Data
+@TableName("article_summary")
+public class ArticleSummary implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 文章 ID
+     */
+    @TableId(value = "id", type = IdType.INPUT)
+    private Long id;
+
+    /**
+     * 标题
+     */
+    private String title;
+
+    /**
+     * 摘要
+     */
+    private String summary;
+
+    /**
+     * 封面图 URL
+     */
+    private String coverImage;
+
+    /**
+     * 作者 ID
+     */
+    private Long authorId;
+
+    /**
+     * 作者昵称
+     */
+    private String authorNickname;
+
+    /**
+     * 作者头像 URL
+     */
+    private String authorAvatar;
+
+    /**
+     * 分类 ID
+     */
+    private Long categoryId;
+
+    /**
+     * 分类名称
+     */
+    private String categoryName;
+
+    /**
+     * 标签 JSON 数组：[{"id":1,"name":"Java"}]
+     */
+    private String tags;
+
+    /**
+     * 浏览量
+     */
+    private Integer viewCount;
+
+    /**
+     * 状态：0-草稿 1-已发布（已删除的文章不保存）
+     */
+    private Integer status;
+
+    /**
+     * 是否置顶：0-否 1-是
+     */
+    private Integer top;
+
+    /**
+     * 发布时间
+     */
+    private LocalDateTime publishTime;
+
+    /**
+     * 文章创建时间
+     */
+    private LocalDateTime createTime;
+
+    /**
+     * 文章更新时间
+     */
+    private LocalDateTime updateTime;
+}
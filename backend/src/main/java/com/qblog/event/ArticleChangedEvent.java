@@ -0,0 +1,21 @@
+package com.qblog.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 文章变更事件
+ * 文章新建、更新、删除后发布，基于文章内容的内存索引据此增量更新
+ */
+public class ArticleChangedEvent extends ApplicationEvent {
+
+    private final Long articleId;
+
+    public ArticleChangedEvent(Object source, Long articleId) {
+        super(source);
+        this.articleId = articleId;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+}
@@ -0,0 +1,14 @@
+package com.qblog.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * 数据恢复完成事件
+ * 从备份恢复数据后发布，内存中的索引和缓存需要据此重建
+ */
+public class DataRestoredEvent extends ApplicationEvent {
+
+    public DataRestoredEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,50 @@
+package com.qblog.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 分类、标签变更事件
+ * 分类或标签改名、删除后发布，文章详情及列表缓存中冗余了分类和标签名称，据此失效
+ */
+public class TaxonomyChangedEvent extends ApplicationEvent {
+
+    private final Long categoryId;
+    private final Long tagId;
+    private final List<Long> articleIds;
+
+    private TaxonomyChangedEvent(Object source, Long categoryId, Long tagId, Collection<Long> articleIds) {
+        super(source);
+        this.categoryId = categoryId;
+        this.tagId = tagId;
+        this.articleIds = List.copyOf(articleIds);
+    }
+
+    /**
+     * 分类变更，受影响的文章由监听方按分类查询
+     */
+    public static TaxonomyChangedEvent ofCategory(Object source, Long categoryId) {
+        return new TaxonomyChangedEvent(source, categoryId, null, List.of());
+    }
+
+    /**
+     * 标签变更，articleIds 为包含该标签的文章（标签关联可能在同一事务中删除，需由发布方在删除前查出）
+     */
+    public static TaxonomyChangedEvent ofTag(Object source, Long tagId, Collection<Long> articleIds) {
+        return new TaxonomyChangedEvent(source, null, tagId, articleIds);
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public Long getTagId() {
+        return tagId;
+    }
+
+    public List<Long> getArticleIds() {
+        return articleIds;
+    }
+}
@@ -1,20 +1,66 @@
 package com.qblog.mapper;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.qblog.entity.Article;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * 文章 Mapper 接口
  */
 @Mapper
 public interface ArticleMapper extends BaseMapper<Article> {
 
+    /**
+     * 列表查询的列：除正文 content（longtext）外的全部列，列表项不展示正文
+     */
+    Predicate<TableFieldInfo> LIST_COLUMNS = field -> !"content".equals(field.getColumn());
+
+    /**
+     * 列表查询（不查询正文）
+     */
+    default List<Article> selectListItems(LambdaQueryWrapper<Article> wrapper) {
+        return selectList(wrapper.select(Article.class, LIST_COLUMNS));
+    }
+
+    /**
+     * 列表分页查询（不查询正文）
+     */
+    default Page<Article> selectListItemPage(Page<Article> page, LambdaQueryWrapper<Article> wrapper) {
+        return selectPage(page, wrapper.select(Article.class, LIST_COLUMNS));
+    }
+
+    /**
+     * 按主键批量查询列表项（不查询正文）
+     */
+    default List<Article> selectListItemsByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return selectListItems(new LambdaQueryWrapper<Article>().in(Article::getId, ids));
+    }
+
     /**
      * 增量更新浏览量
+     * update_time 为 ON UPDATE CURRENT_TIMESTAMP，显式赋为原值使其保持不变：
+     * 搜索、筛选索引和首页快照按 update_time 增量同步，浏览量变化不应视为内容变更
      */
-    @Update("UPDATE article SET view_count = view_count + #{increment} WHERE id = #{id}")
+    @Update("UPDATE article SET view_count = view_count + #{increment}, update_time = update_time WHERE id = #{id}")
     int incrementViewCount(@Param("id") Long id, @Param("increment") Long increment);
+
+    /**
+     * 查询已持久化的浏览量
+     */
+    @Select("SELECT view_count FROM article WHERE id = #{id}")
+    Long selectViewCount(@Param("id") Long id);
 }
@@ -0,0 +1,33 @@
+package com.qblog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.qblog.entity.ArticleSummary;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 文章列表读模型 Mapper 接口
+ */
+@Mapper
+public interface ArticleSummaryMapper extends BaseMapper<ArticleSummary> {
+
+    /**
+     * 增量更新浏览量（与 article 表同步）
+     */
+    @Update("UPDATE article_summary SET view_count = view_count + #{increment} WHERE id = #{id}")
+    int incrementViewCount(@Param("id") Long id, @Param("increment") Long increment);
+
+    /**
+     * 分类改名或删除后更新冗余的分类名称（删除时 name 为 null）
+     */
+    @Update("UPDATE article_summary SET category_name = #{name} WHERE category_id = #{categoryId}")
+    int updateCategoryName(@Param("categoryId") Long categoryId, @Param("name") String name);
+
+    /**
+     * 删除文章已不存在或已删除的行
+     */
+    @Delete("DELETE FROM article_summary WHERE id NOT IN (SELECT id FROM article WHERE status <> 2)")
+    int deleteOrphans();
+}
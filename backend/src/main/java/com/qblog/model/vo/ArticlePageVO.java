@@ -0,0 +1,16 @@
+package com.qblog.model.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 文章列表分页结果（用于缓存，Page 对象无法按具体元素类型反序列化）
+ */
+@Data
+public class ArticlePageVO {
+
+    private Long total;
+
+    private List<ArticleListItemVO> records;
+}
@@ -0,0 +1,21 @@
+package com.qblog.model.vo;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 文章列表游标分页结果（无限滚动）
+ */
+@Data
+public class ArticleScrollVO {
+
+    private List<ArticleListItemVO> records;
+
+    /**
+     * 下一页游标，没有更多数据时为 null
+     */
+    private String nextCursor;
+
+    private Boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package com.qblog.model.vo;
+
+import lombok.Data;
+
+/**
+ * 全文搜索命中的文章
+ */
+@Data
+public class ArticleSearchHitVO {
+
+    private ArticleListItemVO article;
+
+    /**
+     * 高亮后的标题（已转义的 HTML，命中词用 em 标签包裹）
+     */
+    private String titleHighlight;
+
+    /**
+     * 正文中命中位置附近的高亮片段（已转义的 HTML）
+     */
+    private String snippet;
+
+    /**
+     * 相关度得分
+     */
+    private Double score;
+}
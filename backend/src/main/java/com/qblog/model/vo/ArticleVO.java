@@ -29,6 +29,8 @@ public class ArticleVO {
 
     private Integer viewCount;
 
+    private Integer status;
+
     private Integer top;
 
     private Boolean isLiked;
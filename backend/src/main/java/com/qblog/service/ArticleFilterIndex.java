@@ -0,0 +1,630 @@
+package com.qblog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.qblog.entity.Article;
+import com.qblog.entity.ArticleTag;
+import com.qblog.event.ArticleChangedEvent;
+import com.qblog.event.DataRestoredEvent;
+import com.qblog.mapper.ArticleMapper;
+import com.qblog.mapper.ArticleTagMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 文章筛选位图索引
+ * 状态、分类、标签各自维护 值 -> 文章 ID 的压缩位图（RoaringBitmap），筛选条件及其交并集在内存中计算；
+ * 另按发布时间维护全部文章的有序集合，列表分页直接在内存中得到当前页的文章 ID，再按主键查询。
+ * 本节点的变更通过 ArticleChangedEvent 在事务提交后增量更新，其他节点的变更每分钟按 update_time 同步，
+ * 每天及数据恢复后全量重建。未构建成功（或文章 ID 超出 int 范围）时 isReady 返回 false，调用方回退到数据库查询
+ * 相关文章按共同标签计算：每个共同标签贡献其 IDF（越少见的标签权重越高），再按发布时间加权（半衰期 180 天）
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleFilterIndex {
+
+    private static final int STATUS_DELETED = 2;
+    // 筛选结果少于全部文章的 1/SORT_RATIO 时，直接对结果排序，否则按有序集合扫描
+    private static final int SORT_RATIO = 8;
+    // 相关文章的时间加权：得分 = 共同标签 IDF 之和 * (1 + RECENCY_WEIGHT * 0.5^(发布天数 / 半衰期))
+    private static final double RECENCY_WEIGHT = 0.5;
+    private static final double RECENCY_HALF_LIFE_DAYS = 180;
+    private static final double MILLIS_PER_DAY = 24 * 60 * 60 * 1000.0;
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 读写均需持有 lock
+    private State state = new State();
+
+    private volatile boolean ready;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // 已同步到的最大 update_time
+    private volatile LocalDateTime watermark;
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 注册变更监听（在索引更新之后、锁外回调）
+     */
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 按条件筛选文章 ID，索引未就绪时返回 null
+     *
+     * @param status       文章状态，为 null 时匹配除已删除外的全部文章
+     * @param categoryId   分类 ID，为 null 时不限
+     * @param tagIds       标签 ID，为空时不限
+     * @param matchAllTags true 时需包含全部标签（AND），否则包含任一标签即可（OR）
+     */
+    public RoaringBitmap match(Integer status, Long categoryId, Collection<Long> tagIds, boolean matchAllTags) {
+        if (!ready) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result;
+            if (status != null) {
+                result = copy(state.byStatus.get(status));
+            } else {
+                result = new RoaringBitmap();
+                state.byStatus.forEach((value, ids) -> {
+                    if (value != STATUS_DELETED) {
+                        result.or(ids);
+                    }
+                });
+            }
+            if (categoryId != null) {
+                result.and(state.byCategory.getOrDefault(categoryId, new RoaringBitmap()));
+            }
+            if (tagIds != null && !tagIds.isEmpty()) {
+                RoaringBitmap tagged = null;
+                for (Long tagId : tagIds) {
+                    RoaringBitmap ids = state.byTag.getOrDefault(tagId, new RoaringBitmap());
+                    if (tagged == null) {
+                        tagged = ids.clone();
+                    } else if (matchAllTags) {
+                        tagged.and(ids);
+                    } else {
+                        tagged.or(ids);
+                    }
+                }
+                result.and(tagged);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按发布时间排序分页（发布时间相同时按 ID），发布时间为空的排在倒序的最后
+     *
+     * @param topFirst 置顶文章排在前面
+     */
+    public List<Long> page(RoaringBitmap ids, boolean topFirst, boolean ascending, int offset, int limit) {
+        List<Long> result = new ArrayList<>(limit);
+        lock.readLock().lock();
+        try {
+            if (!topFirst) {
+                collect(ids, ascending, null, offset, limit, result);
+                return result;
+            }
+            RoaringBitmap top = RoaringBitmap.and(ids, state.topIds);
+            RoaringBitmap rest = RoaringBitmap.andNot(ids, state.topIds);
+            int topCount = top.getCardinality();
+            if (offset < topCount) {
+                collect(top, ascending, null, offset, limit, result);
+            }
+            if (result.size() < limit) {
+                collect(rest, ascending, null, Math.max(0, offset - topCount), limit - result.size(), result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 游标分页：按 (置顶, 发布时间, ID) 倒序，返回位于游标之后的文章 ID
+     */
+    public List<Long> after(RoaringBitmap ids, boolean cursorTop, LocalDateTime cursorPublishTime, long cursorId,
+                            int limit) {
+        List<Long> result = new ArrayList<>(limit);
+        if (cursorId > Integer.MAX_VALUE) {
+            return result;
+        }
+        OrderKey from = new OrderKey(epochMillis(cursorPublishTime), (int) cursorId);
+        lock.readLock().lock();
+        try {
+            if (cursorTop) {
+                collect(RoaringBitmap.and(ids, state.topIds), false, from, 0, limit, result);
+                if (result.size() < limit) {
+                    collect(RoaringBitmap.andNot(ids, state.topIds), false, null, 0, limit - result.size(), result);
+                }
+            } else {
+                collect(RoaringBitmap.andNot(ids, state.topIds), false, from, 0, limit, result);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 计算相关文章（已发布、至少有一个共同标签），按得分从高到低，得分相同时新文章在前
+     */
+    public List<Long> related(long articleId, int limit) {
+        if (!ready || articleId > Integer.MAX_VALUE) {
+            return Collections.emptyList();
+        }
+        Map<Integer, Double> scores = new HashMap<>();
+        long now = System.currentTimeMillis();
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(
+                Map.Entry.<Integer, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        lock.readLock().lock();
+        try {
+            Entry entry = state.entries.get((int) articleId);
+            RoaringBitmap published = state.byStatus.get(1);
+            if (entry == null || entry.tagIds().isEmpty() || published == null) {
+                return Collections.emptyList();
+            }
+            int total = published.getCardinality();
+            for (Long tagId : entry.tagIds()) {
+                RoaringBitmap members = state.byTag.get(tagId);
+                if (members == null) {
+                    continue;
+                }
+                RoaringBitmap candidates = RoaringBitmap.and(members, published);
+                if (candidates.isEmpty()) {
+                    continue;
+                }
+                double idf = Math.log(1 + (double) total / candidates.getCardinality());
+                candidates.forEach((int id) -> {
+                    if (id != articleId) {
+                        scores.merge(id, idf, Double::sum);
+                    }
+                });
+            }
+            for (Map.Entry<Integer, Double> score : scores.entrySet()) {
+                long publishTime = state.entries.get(score.getKey()).publishTime();
+                double recency = publishTime == Long.MIN_VALUE ? 0
+                        : Math.pow(0.5, Math.max(0, now - publishTime) / MILLIS_PER_DAY / RECENCY_HALF_LIFE_DAYS);
+                score.setValue(score.getValue() * (1 + RECENCY_WEIGHT * recency));
+                top.add(score);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> result = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            result.add((long) top.poll().getKey());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * 本节点文章变更，事务提交后更新（无事务时直接执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!ready) {
+            return;
+        }
+        try {
+            Article article = articleMapper.selectOne(articleColumns().eq(Article::getId, event.getArticleId()));
+            if (article == null) {
+                remove(event.getArticleId());
+            } else {
+                apply(List.of(article));
+            }
+        } catch (Exception e) {
+            // 定时同步时补上
+            log.warn("Failed to update article filter index for article {}", event.getArticleId(), e);
+        }
+    }
+
+    /**
+     * 标签及其关联删除后调用；在事务中调用时提交后才更新，回滚时索引不变
+     */
+    public void removeTag(Long tagId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doRemoveTag(tagId);
+                }
+            });
+        } else {
+            doRemoveTag(tagId);
+        }
+    }
+
+    private void doRemoveTag(Long tagId) {
+        Set<Long> affected = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            RoaringBitmap ids = state.byTag.remove(tagId);
+            if (ids != null) {
+                ids.forEach((int id) -> {
+                    Entry entry = state.entries.get(id);
+                    if (entry != null) {
+                        state.entries.put(id, entry.withoutTag(tagId));
+                    }
+                    affected.add((long) id);
+                });
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyChanged(affected);
+    }
+
+    @EventListener(DataRestoredEvent.class)
+    public void onDataRestored() {
+        rebuild();
+    }
+
+    /**
+     * 定时任务：同步其他节点的变更（每分钟）
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void syncChanges() {
+        if (!ready || watermark == null) {
+            rebuild();
+            return;
+        }
+        try {
+            // 使用 >= 避免遗漏与水位线同一时刻的更新，重复应用不影响结果
+            List<Article> articles = articleMapper.selectList(articleColumns()
+                    .ge(Article::getUpdateTime, watermark));
+            if (!articles.isEmpty()) {
+                apply(articles);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to sync article filter index", e);
+        }
+    }
+
+    /**
+     * 定时任务：每天凌晨 4 点半全量重建
+     */
+    @Scheduled(cron = "0 30 4 * * ?")
+    public void rebuild() {
+        try {
+            List<Article> articles = articleMapper.selectList(articleColumns());
+            Map<Long, List<Long>> tags = articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                            .select(ArticleTag::getArticleId, ArticleTag::getTagId)).stream()
+                    .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                            Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+
+            State newState = new State();
+            LocalDateTime maxUpdateTime = null;
+            for (Article article : articles) {
+                if (article.getId() > Integer.MAX_VALUE) {
+                    ready = false;
+                    log.warn("Article id {} exceeds int range, article filter index disabled", article.getId());
+                    return;
+                }
+                newState.put(article.getId().intValue(),
+                        Entry.of(article, tags.getOrDefault(article.getId(), Collections.emptyList())));
+                if (article.getUpdateTime() != null
+                        && (maxUpdateTime == null || article.getUpdateTime().isAfter(maxUpdateTime))) {
+                    maxUpdateTime = article.getUpdateTime();
+                }
+            }
+            newState.compact();
+
+            lock.writeLock().lock();
+            try {
+                state = newState;
+                watermark = maxUpdateTime != null ? maxUpdateTime : LocalDateTime.now();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Article filter index built with {} articles", articles.size());
+            listeners.forEach(ChangeListener::onRebuilt);
+        } catch (Exception e) {
+            log.error("Failed to build article filter index", e);
+        }
+    }
+
+    private void apply(List<Article> articles) {
+        List<Long> ids = articles.stream().map(Article::getId).collect(Collectors.toList());
+        Map<Long, List<Long>> tags = articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                        .select(ArticleTag::getArticleId, ArticleTag::getTagId)
+                        .in(ArticleTag::getArticleId, ids)).stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+
+        Set<Long> affected = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            for (Article article : articles) {
+                if (article.getId() > Integer.MAX_VALUE) {
+                    ready = false;
+                    log.warn("Article id {} exceeds int range, article filter index disabled", article.getId());
+                    return;
+                }
+                if (article.getUpdateTime() != null && article.getUpdateTime().isAfter(watermark)) {
+                    watermark = article.getUpdateTime();
+                }
+                int id = article.getId().intValue();
+                Entry previous = state.entries.get(id);
+                Entry entry = Entry.of(article, tags.getOrDefault(article.getId(), Collections.emptyList()));
+                // 水位线上的文章每次同步都会重新查到，未变化时不更新索引也不通知监听
+                if (entry.equals(previous)) {
+                    continue;
+                }
+                state.remove(id);
+                state.put(id, entry);
+                // 状态、标签、发布时间变化时，与其有共同标签的文章的相关文章也可能变化
+                if (previous == null || previous.affectsRelated(entry)) {
+                    affected.add(article.getId());
+                    state.collectTagMembers(previous, affected);
+                    state.collectTagMembers(entry, affected);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyChanged(affected);
+    }
+
+    private void remove(Long articleId) {
+        if (articleId > Integer.MAX_VALUE) {
+            return;
+        }
+        Set<Long> affected = new HashSet<>();
+        lock.writeLock().lock();
+        try {
+            Entry previous = state.entries.get(articleId.intValue());
+            if (previous != null) {
+                state.remove(articleId.intValue());
+                affected.add(articleId);
+                state.collectTagMembers(previous, affected);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        notifyChanged(affected);
+    }
+
+    private void notifyChanged(Set<Long> articleIds) {
+        if (!articleIds.isEmpty()) {
+            listeners.forEach(listener -> listener.onChanged(articleIds));
+        }
+    }
+
+    /**
+     * 将 ids 中的文章按发布时间顺序追加到 result，from 不为空时只取倒序排在 from 之后的文章
+     * 调用方需持有读锁
+     */
+    private void collect(RoaringBitmap ids, boolean ascending, OrderKey from, int skip, int limit,
+                         List<Long> result) {
+        if (limit <= 0 || ids.isEmpty()) {
+            return;
+        }
+        int target = result.size() + limit;
+        Iterator<OrderKey> iterator;
+        if ((long) ids.getCardinality() * SORT_RATIO < state.order.size()) {
+            // 结果较少，直接排序
+            List<OrderKey> keys = new ArrayList<>(ids.getCardinality());
+            ids.forEach((int id) -> {
+                Entry entry = state.entries.get(id);
+                if (entry != null) {
+                    keys.add(new OrderKey(entry.publishTime(), id));
+                }
+            });
+            keys.sort(ascending ? Comparator.naturalOrder() : Comparator.reverseOrder());
+            iterator = keys.iterator();
+        } else {
+            NavigableSet<OrderKey> order = from != null ? state.order.headSet(from, false) : state.order;
+            iterator = ascending ? order.iterator() : order.descendingIterator();
+        }
+
+        while (iterator.hasNext() && result.size() < target) {
+            OrderKey key = iterator.next();
+            if (from != null && key.compareTo(from) >= 0) {
+                continue;
+            }
+            if (!ids.contains(key.id())) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            result.add((long) key.id());
+        }
+    }
+
+    private static LambdaQueryWrapper<Article> articleColumns() {
+        return new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getStatus, Article::getCategoryId, Article::getTop,
+                        Article::getPublishTime, Article::getUpdateTime);
+    }
+
+    private static RoaringBitmap copy(RoaringBitmap bitmap) {
+        return bitmap == null ? new RoaringBitmap() : bitmap.clone();
+    }
+
+    /**
+     * 发布时间为空时取最小值，倒序时排在最后（与 MySQL 倒序时 NULL 排在最后一致）
+     */
+    private static long epochMillis(LocalDateTime time) {
+        return time == null ? Long.MIN_VALUE : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 索引变更监听
+     */
+    public interface ChangeListener {
+
+        /**
+         * 状态、标签或发布时间变化的文章，以及与其有共同标签的文章
+         */
+        void onChanged(Set<Long> articleIds);
+
+        /**
+         * 全量重建完成
+         */
+        void onRebuilt();
+    }
+
+    private record OrderKey(long publishTime, int id) implements Comparable<OrderKey> {
+
+        @Override
+        public int compareTo(OrderKey other) {
+            int result = Long.compare(publishTime, other.publishTime);
+            return result != 0 ? result : Integer.compare(id, other.id);
+        }
+    }
+
+    private record Entry(int status, Long categoryId, List<Long> tagIds, boolean top, long publishTime) {
+
+        /**
+         * 标签 ID 排序后保存，查询返回的顺序不同时不视为变化
+         */
+        static Entry of(Article article, List<Long> tagIds) {
+            return new Entry(article.getStatus() == null ? 0 : article.getStatus(), article.getCategoryId(),
+                    tagIds.stream().sorted().toList(), Objects.equals(article.getTop(), 1),
+                    epochMillis(article.getPublishTime()));
+        }
+
+        boolean affectsRelated(Entry other) {
+            return status != other.status || publishTime != other.publishTime || !tagIds.equals(other.tagIds);
+        }
+
+        Entry withoutTag(Long tagId) {
+            List<Long> remaining = tagIds.stream().filter(id -> !id.equals(tagId)).collect(Collectors.toList());
+            return new Entry(status, categoryId, remaining, top, publishTime);
+        }
+    }
+
+    /**
+     * 索引数据（非线程安全，由外层读写锁保护）
+     */
+    private static class State {
+
+        private final Map<Integer, RoaringBitmap> byStatus = new HashMap<>();
+        private final Map<Long, RoaringBitmap> byCategory = new HashMap<>();
+        private final Map<Long, RoaringBitmap> byTag = new HashMap<>();
+        private final RoaringBitmap topIds = new RoaringBitmap();
+        private final Map<Integer, Entry> entries = new HashMap<>();
+        private final NavigableSet<OrderKey> order = new TreeSet<>();
+
+        void put(int id, Entry entry) {
+            entries.put(id, entry);
+            order.add(new OrderKey(entry.publishTime(), id));
+            byStatus.computeIfAbsent(entry.status(), k -> new RoaringBitmap()).add(id);
+            if (entry.categoryId() != null) {
+                byCategory.computeIfAbsent(entry.categoryId(), k -> new RoaringBitmap()).add(id);
+            }
+            for (Long tagId : entry.tagIds()) {
+                byTag.computeIfAbsent(tagId, k -> new RoaringBitmap()).add(id);
+            }
+            if (entry.top()) {
+                topIds.add(id);
+            }
+        }
+
+        void remove(int id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            order.remove(new OrderKey(entry.publishTime(), id));
+            removeFrom(byStatus, entry.status(), id);
+            if (entry.categoryId() != null) {
+                removeFrom(byCategory, entry.categoryId(), id);
+            }
+            for (Long tagId : entry.tagIds()) {
+                removeFrom(byTag, tagId, id);
+            }
+            topIds.remove(id);
+        }
+
+        /**
+         * 将与 entry 有共同标签的文章 ID 加入 result
+         */
+        void collectTagMembers(Entry entry, Set<Long> result) {
+            if (entry == null) {
+                return;
+            }
+            for (Long tagId : entry.tagIds()) {
+                RoaringBitmap members = byTag.get(tagId);
+                if (members != null) {
+                    members.forEach((int id) -> result.add((long) id));
+                }
+            }
+        }
+
+        /**
+         * 全量构建后压缩位图（连续 ID 使用 run 编码）
+         */
+        void compact() {
+            byStatus.values().forEach(RoaringBitmap::runOptimize);
+            byCategory.values().forEach(RoaringBitmap::runOptimize);
+            byTag.values().forEach(RoaringBitmap::runOptimize);
+            topIds.runOptimize();
+        }
+
+        private static <K> void removeFrom(Map<K, RoaringBitmap> index, K key, int id) {
+            RoaringBitmap ids = index.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    index.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.qblog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.qblog.common.cache.LongBloomFilter;
+import com.qblog.entity.Article;
+import com.qblog.event.DataRestoredEvent;
+import com.qblog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文章 ID 布隆过滤器
+ * 在查询缓存和数据库之前拦截不存在的文章 ID，防止随机 ID 扫描穿透到数据库
+ * 启动时从数据库构建，新建文章时在事务提交后加入，每天及数据恢复后重建
+ * 过滤器为节点本地数据，新增 ID 及数据恢复后的重建通过缓存失效频道广播给其他节点；
+ * 广播不保证送达，另每分钟按最大 ID 补充其他节点新建的文章
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleIdFilter {
+
+    private static final double FPP = 0.001;
+    private static final long MIN_CAPACITY = 10000;
+    // 定时同步时从已同步的最大 ID 往回多查的数量，覆盖分配了 ID 但查询时尚未提交的文章
+    private static final long SYNC_OVERLAP = 100;
+
+    private static final String BROADCAST_PREFIX = "article:id:";
+    private static final String ADD_MESSAGE = BROADCAST_PREFIX + "add:";
+    private static final String REBUILD_MESSAGE = BROADCAST_PREFIX + "rebuild";
+
+    private final ArticleMapper articleMapper;
+    private final CacheService cacheService;
+
+    // 未构建成功时为 null，此时放行所有 ID
+    private volatile LongBloomFilter filter;
+
+    // 最近加入的 ID，重建时补充到新过滤器，防止与重建查询交错时丢失
+    private final Set<Long> recentIds = ConcurrentHashMap.newKeySet();
+
+    // 重建及定时同步查询到的最大文章 ID
+    private volatile long syncedMaxId;
+
+    @PostConstruct
+    public void init() {
+        cacheService.addBroadcastListener(BROADCAST_PREFIX, this::onBroadcast);
+        rebuild();
+    }
+
+    /**
+     * 数据恢复后重建，并通知其他节点重建
+     */
+    @EventListener(DataRestoredEvent.class)
+    public void onDataRestored() {
+        rebuild();
+        cacheService.broadcast(REBUILD_MESSAGE);
+    }
+
+    /**
+     * 定时任务：每天凌晨 4 点重建，剔除已删除的文章
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public synchronized void rebuild() {
+        try {
+            // 查询开始前已加入的 ID 均已提交，一定包含在查询结果中，新过滤器生效后才能移除
+            Set<Long> committedIds = new HashSet<>(recentIds);
+            List<Object> ids = articleMapper.selectObjs(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId)
+                    .ne(Article::getStatus, 2));
+
+            // 预留增长空间，避免新增文章后误判率上升
+            LongBloomFilter newFilter = new LongBloomFilter(Math.max(MIN_CAPACITY, ids.size() * 2L), FPP);
+            long maxId = 0;
+            for (Object id : ids) {
+                long value = ((Number) id).longValue();
+                newFilter.put(value);
+                maxId = Math.max(maxId, value);
+            }
+            recentIds.forEach(newFilter::put);
+            filter = newFilter;
+            syncedMaxId = maxId;
+            // 补上替换前最后时刻加入旧过滤器的 ID
+            recentIds.forEach(newFilter::put);
+            recentIds.removeAll(committedIds);
+            log.info("Article id bloom filter built with {} ids", ids.size());
+        } catch (Exception e) {
+            log.error("Failed to build article id bloom filter", e);
+        }
+    }
+
+    /**
+     * 定时任务：补充其他节点新建的文章（每分钟），防止广播丢失后新文章在本节点一直被拦截
+     * 文章 ID 自增，只需查询已同步的最大 ID 之后的部分；与重建互斥，避免同步结果写入即将被替换的旧过滤器
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public synchronized void syncNewIds() {
+        LongBloomFilter current = filter;
+        if (current == null) {
+            rebuild();
+            return;
+        }
+        try {
+            long from = syncedMaxId;
+            List<Object> ids = articleMapper.selectObjs(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId)
+                    .gt(Article::getId, Math.max(0, from - SYNC_OVERLAP))
+                    .ne(Article::getStatus, 2));
+            long maxId = from;
+            for (Object id : ids) {
+                long value = ((Number) id).longValue();
+                current.put(value);
+                maxId = Math.max(maxId, value);
+            }
+            syncedMaxId = maxId;
+        } catch (Exception e) {
+            log.warn("Failed to sync article id bloom filter", e);
+        }
+    }
+
+    /**
+     * 文章是否可能存在（返回 false 时一定不存在）
+     */
+    public boolean mightExist(Long id) {
+        if (id == null) {
+            return false;
+        }
+        LongBloomFilter current = filter;
+        return current == null || current.mightContain(id);
+    }
+
+    /**
+     * 新建文章时加入过滤器并通知其他节点；在事务中调用时，提交后才加入
+     */
+    public void add(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // afterCommit 中同步仍处于激活状态，不能再调用 add，否则只会再注册一次而不会执行
+                    addAndBroadcast(id);
+                }
+            });
+            return;
+        }
+        addAndBroadcast(id);
+    }
+
+    private void addAndBroadcast(Long id) {
+        put(id);
+        cacheService.broadcast(ADD_MESSAGE + id);
+    }
+
+    private void put(Long id) {
+        recentIds.add(id);
+        LongBloomFilter current = filter;
+        if (current != null) {
+            current.put(id);
+        }
+    }
+
+    /**
+     * 处理其他节点（及本节点回送）的广播
+     */
+    private void onBroadcast(String message) {
+        if (message.startsWith(ADD_MESSAGE)) {
+            put(Long.parseLong(message.substring(ADD_MESSAGE.length())));
+        } else if (REBUILD_MESSAGE.equals(message)) {
+            rebuild();
+        }
+    }
+}
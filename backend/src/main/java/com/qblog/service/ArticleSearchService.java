@@ -0,0 +1,303 @@
+package com.qblog.service;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.StrUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.qblog.common.search.Highlighter;
+import com.qblog.common.search.IndexedDocument;
+import com.qblog.common.search.InvertedIndex;
+import com.qblog.common.search.SearchResult;
+import com.qblog.config.SearchProperties;
+import com.qblog.entity.Article;
+import com.qblog.event.ArticleChangedEvent;
+import com.qblog.event.DataRestoredEvent;
+import com.qblog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 文章全文搜索
+ * 已发布文章的标题、摘要、正文保存在内存倒排索引中（中文二元分词 + 英文单词），
+ * 本节点的文章变更通过 ArticleChangedEvent 在事务提交后增量更新；
+ * 其他节点的变更由定时任务按 update_time 增量同步。
+ * 索引定期保存为快照文件，重启时先加载快照，再与数据库比对，只重新索引有变化的文章
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleSearchService {
+
+    // 启动时按批加载文章正文
+    private static final int LOAD_BATCH_SIZE = 200;
+
+    private final ArticleMapper articleMapper;
+    private final SearchProperties searchProperties;
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    // 已同步到的最大 update_time
+    private volatile LocalDateTime watermark;
+
+    // 索引有变更尚未保存到快照文件
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        loadSnapshot();
+        try {
+            reconcile();
+        } catch (Exception e) {
+            // 定时同步时重试
+            log.error("Failed to build article search index", e);
+        }
+    }
+
+    /**
+     * 搜索已发布的文章
+     *
+     * @param offset 跳过的命中数
+     * @param limit  返回的命中数
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    /**
+     * 高亮后的标题（已转义的 HTML），文章不在索引中时返回 null
+     */
+    public String highlightTitle(long articleId, List<String> terms) {
+        IndexedDocument document = index.get(articleId);
+        return document == null ? null : Highlighter.highlight(document.title(), terms);
+    }
+
+    /**
+     * 正文中命中位置附近的高亮片段，正文未命中时使用摘要
+     */
+    public String snippet(long articleId, List<String> terms) {
+        IndexedDocument document = index.get(articleId);
+        if (document == null) {
+            return null;
+        }
+        String text = containsAny(document.content(), terms) || StrUtil.isEmpty(document.summary())
+                ? document.content() : document.summary();
+        return Highlighter.snippet(text, terms, searchProperties.getSnippetLength());
+    }
+
+    /**
+     * 本节点文章变更，事务提交后重新索引（无事务时直接执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        try {
+            Article article = articleMapper.selectById(event.getArticleId());
+            if (article == null) {
+                remove(event.getArticleId());
+            } else {
+                apply(article);
+            }
+        } catch (Exception e) {
+            // 定时同步时补上
+            log.warn("Failed to reindex article {}", event.getArticleId(), e);
+        }
+    }
+
+    /**
+     * 数据恢复后重建
+     */
+    @EventListener(DataRestoredEvent.class)
+    public void onDataRestored() {
+        index.clear();
+        watermark = null;
+        reconcile();
+    }
+
+    /**
+     * 定时任务：同步其他节点的变更（每分钟）
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void syncChanges() {
+        try {
+            if (watermark == null) {
+                reconcile();
+                return;
+            }
+            // 使用 >= 避免遗漏与水位线同一时刻的更新，版本未变化的文章会被跳过
+            List<Article> articles = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId, Article::getTitle, Article::getSummary, Article::getContent,
+                            Article::getStatus, Article::getUpdateTime)
+                    .ge(Article::getUpdateTime, watermark));
+            for (Article article : articles) {
+                IndexedDocument existing = index.get(article.getId());
+                if (existing == null || existing.version() != version(article.getUpdateTime())
+                        || !Objects.equals(article.getStatus(), 1)) {
+                    apply(article);
+                }
+                advanceWatermark(article.getUpdateTime());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to sync article search index", e);
+        }
+    }
+
+    /**
+     * 定时任务：索引有变更时保存快照（每 5 分钟）
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void saveSnapshot() {
+        Path path = snapshotPath();
+        if (path == null || !dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 先写临时文件再替换，避免进程退出时留下不完整的快照
+            Path tempFile = path.resolveSibling(path.getFileName() + ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                index.writeTo(out);
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Article search index saved, documents: {}", index.size());
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Failed to save article search index to {}", path, e);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        saveSnapshot();
+    }
+
+    private void loadSnapshot() {
+        Path path = snapshotPath();
+        if (path == null || !Files.exists(path)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(path)) {
+            index.putAll(InvertedIndex.readFrom(in));
+            log.info("Article search index snapshot loaded, documents: {}", index.size());
+        } catch (Exception e) {
+            index.clear();
+            log.warn("Failed to load article search index snapshot {}, rebuild from database", path, e);
+        }
+    }
+
+    /**
+     * 与数据库全量比对：删除已不再发布的文章，重新索引新增或版本变化的文章
+     */
+    private synchronized void reconcile() {
+        List<Article> rows = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getStatus, Article::getUpdateTime));
+
+        Map<Long, Long> published = new HashMap<>();
+        LocalDateTime maxUpdateTime = null;
+        for (Article row : rows) {
+            if (Objects.equals(row.getStatus(), 1)) {
+                published.put(row.getId(), version(row.getUpdateTime()));
+            }
+            if (row.getUpdateTime() != null && (maxUpdateTime == null || row.getUpdateTime().isAfter(maxUpdateTime))) {
+                maxUpdateTime = row.getUpdateTime();
+            }
+        }
+
+        Map<Long, Long> indexed = index.versions();
+        int removed = 0;
+        for (Long id : indexed.keySet()) {
+            if (!published.containsKey(id)) {
+                index.remove(id);
+                removed++;
+            }
+        }
+        List<Long> stale = new ArrayList<>();
+        published.forEach((id, version) -> {
+            if (!version.equals(indexed.get(id))) {
+                stale.add(id);
+            }
+        });
+        for (List<Long> batch : CollUtil.split(stale, LOAD_BATCH_SIZE)) {
+            articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId, Article::getTitle, Article::getSummary, Article::getContent,
+                            Article::getStatus, Article::getUpdateTime)
+                    .in(Article::getId, batch))
+                    .forEach(this::apply);
+        }
+        if (removed > 0) {
+            dirty.set(true);
+        }
+        if (maxUpdateTime != null) {
+            advanceWatermark(maxUpdateTime);
+        } else if (watermark == null) {
+            watermark = LocalDateTime.now();
+        }
+        log.info("Article search index ready, documents: {}, reindexed: {}, removed: {}",
+                index.size(), stale.size(), removed);
+    }
+
+    private void apply(Article article) {
+        if (!Objects.equals(article.getStatus(), 1)) {
+            remove(article.getId());
+            return;
+        }
+        index.put(new IndexedDocument(article.getId(), version(article.getUpdateTime()),
+                StrUtil.nullToEmpty(article.getTitle()),
+                Highlighter.plainText(article.getSummary()),
+                Highlighter.plainText(article.getContent())));
+        dirty.set(true);
+    }
+
+    private void remove(Long articleId) {
+        if (index.get(articleId) != null) {
+            index.remove(articleId);
+            dirty.set(true);
+        }
+    }
+
+    private synchronized void advanceWatermark(LocalDateTime updateTime) {
+        if (updateTime != null && (watermark == null || updateTime.isAfter(watermark))) {
+            watermark = updateTime;
+        }
+    }
+
+    private Path snapshotPath() {
+        String indexFile = searchProperties.getIndexFile();
+        return StrUtil.isBlank(indexFile) ? null : Paths.get(indexFile);
+    }
+
+    private static long version(LocalDateTime updateTime) {
+        return updateTime == null ? 0 : updateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static boolean containsAny(String text, List<String> terms) {
+        if (StrUtil.isEmpty(text)) {
+            return false;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        return terms.stream().anyMatch(lower::contains);
+    }
+}
@@ -5,6 +5,8 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.qblog.entity.Article;
 import com.qblog.model.dto.ArticleDTO;
 import com.qblog.model.vo.ArticleListItemVO;
+import com.qblog.model.vo.ArticleScrollVO;
+import com.qblog.model.vo.ArticleSearchHitVO;
 import com.qblog.model.vo.ArticleVO;
 
 import java.util.List;
@@ -16,21 +18,40 @@ public interface ArticleService extends IService<Article> {
 
     /**
      * 分页获取文章列表（公开接口）
+     * @param tagIds       按标签筛选，为空时不限
+     * @param matchAllTags true 时需包含全部标签，否则包含任一标签即可
      */
-    Page<ArticleListItemVO> getArticleList(Integer page, Integer size, Long categoryId,
-                                           Long tagId, String keyword, String sortBy, String sortOrder);
+    Page<ArticleListItemVO> getArticleList(Integer page, Integer size, Long categoryId, List<Long> tagIds,
+                                           boolean matchAllTags, String keyword, String sortBy, String sortOrder);
+
+    /**
+     * 游标分页获取文章列表（公开接口，按置顶、发布时间、ID 倒序，不统计总数）
+     * @param cursor 上一页返回的游标，首页传 null
+     */
+    ArticleScrollVO getArticleScroll(String cursor, Integer size, Long categoryId, Long tagId);
+
+    /**
+     * 全文搜索已发布的文章（标题、摘要、正文），按相关度排序，返回高亮的标题和正文片段
+     */
+    Page<ArticleSearchHitVO> searchArticles(String query, Integer page, Integer size);
 
     /**
      * 管理后台 - 获取所有文章（包括草稿）
+     * @param exactCount 是否查询精确总数，默认使用按筛选条件缓存的总数
      */
-    Page<ArticleListItemVO> getAdminArticleList(Integer page, Integer size, Long categoryId,
-                                                 String keyword, Integer status, String sortBy, String sortOrder);
+    Page<ArticleListItemVO> getAdminArticleList(Integer page, Integer size, Long categoryId, String keyword,
+                                                 Integer status, String sortBy, String sortOrder, boolean exactCount);
 
     /**
      * 获取文章详情
      */
     ArticleVO getArticleDetail(Long id);
 
+    /**
+     * 预热文章详情缓存（不增加浏览量）
+     */
+    void warmUpArticleDetail(Long id);
+
     /**
      * 创建文章
      */
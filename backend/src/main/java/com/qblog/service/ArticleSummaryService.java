@@ -0,0 +1,50 @@
+package com.qblog.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.qblog.entity.ArticleSummary;
+import com.qblog.model.vo.ArticleListItemVO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章列表读模型服务接口
+ * 读模型随文章、分类、标签的写操作在同一事务中更新
+ */
+public interface ArticleSummaryService extends IService<ArticleSummary> {
+
+    /**
+     * 按文章当前数据重新生成读模型，文章不存在或已删除时移除
+     */
+    void refresh(Long articleId);
+
+    /**
+     * 批量重新生成读模型
+     */
+    void refresh(Collection<Long> articleIds);
+
+    /**
+     * 分类改名或删除后更新冗余的分类名称
+     */
+    void refreshCategory(Long categoryId);
+
+    /**
+     * 标签改名后更新包含该标签的文章
+     */
+    void refreshTag(Long tagId);
+
+    /**
+     * 全量重建（启动时数量不一致、数据恢复后）
+     */
+    void rebuild();
+
+    /**
+     * 按主键查询已发布文章的读模型，保持 ids 的顺序
+     */
+    List<ArticleSummary> listPublishedByIds(List<Long> ids);
+
+    /**
+     * 转换为列表项 VO（不再查询其他表）
+     */
+    List<ArticleListItemVO> toListItemVO(List<ArticleSummary> summaries);
+}
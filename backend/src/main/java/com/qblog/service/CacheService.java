@@ -1,7 +1,12 @@
 package com.qblog.service;
 
+import com.qblog.common.cache.CacheBatchResult;
+
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 /**
@@ -24,16 +29,55 @@ public interface CacheService {
      */
     <T> void set(String key, T value, Duration ttl);
 
+    /**
+     * 批量获取缓存值（一次往返），命中空值标记的 key 视为未命中
+     */
+    <T> CacheBatchResult<T> getAll(Collection<String> keys, Class<T> type);
+
+    /**
+     * 批量设置缓存值（管道写入，一次往返），值为 null 的条目忽略
+     */
+    <T> void setAll(Map<String, T> entries, Duration ttl);
+
     /**
      * 删除缓存
      */
     void delete(String key);
 
     /**
-     * 删除匹配模式的所有缓存（使用 SCAN 避免阻塞）
+     * 删除匹配模式的所有缓存（使用 SCAN 避免阻塞，需要遍历整个键空间，优先使用 bumpGeneration）
      */
     void deleteByPattern(String pattern);
 
+    /**
+     * 获取命名空间当前的版本号（不存在时为 0）
+     */
+    long getGeneration(String namespace);
+
+    /**
+     * 命名空间版本号加一，使该命名空间下的所有缓存 key 立即失效
+     * 失效复杂度为 O(1)，旧版本的 key 不再被访问，随 TTL 自然过期
+     */
+    void bumpGeneration(String namespace);
+
+    /**
+     * 拼接带版本号的缓存 key：{namespace}:v{generation}:{suffix}
+     */
+    default String versionedKey(String namespace, Object suffix) {
+        return namespace + ":v" + getGeneration(namespace) + ":" + suffix;
+    }
+
+    /**
+     * 通过缓存失效频道向其他节点广播消息，用于同步缓存之外的节点本地数据（本节点由调用方自行处理）
+     * Redis 发布订阅会回送给本节点，监听方需可重复执行；单节点部署时不做任何事
+     */
+    void broadcast(String message);
+
+    /**
+     * 监听以 prefix 开头的广播消息
+     */
+    void addBroadcastListener(String prefix, Consumer<String> listener);
+
     /**
      * 检查缓存是否存在
      */
@@ -51,6 +95,7 @@ public interface CacheService {
 
     /**
      * 获取缓存，如果不存在则执行 loader 并缓存结果（带分布式锁防止缓存击穿）
+     * loader 返回 null 时缓存空值标记（较短 TTL），有效期内直接返回 null，防止缓存穿透
      */
     <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader);
 
@@ -58,4 +103,22 @@ public interface CacheService {
      * 获取缓存列表，如果不存在则执行 loader 并缓存结果（带分布式锁防止缓存击穿）
      */
     <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration ttl, Supplier<List<T>> loader);
-}
\ No newline at end of file
+
+    /**
+     * 获取缓存（stale-while-revalidate 模式）
+     * 写入后超过 softTtl 的条目仍直接返回，同时在后台异步刷新（同一 key 只刷新一次）；
+     * 超过 hardTtl 后条目过期，按 getOrLoad 同步加载
+     */
+    <T> T getOrLoad(String key, Class<T> type, Duration softTtl, Duration hardTtl, Supplier<T> loader);
+
+    /**
+     * 获取缓存列表（stale-while-revalidate 模式）
+     */
+    <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration softTtl, Duration hardTtl,
+                              Supplier<List<T>> loader);
+
+    /**
+     * 获取缓存统计信息（各层缓存的命中率等）
+     */
+    Map<String, Object> getStats();
+}
@@ -0,0 +1,115 @@
+package com.qblog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.qblog.config.CacheProperties;
+import com.qblog.entity.Article;
+import com.qblog.mapper.ArticleMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 启动缓存预热
+ * 应用启动后并行加载热门/最新文章、分类/标签列表以及浏览量最高的文章详情，
+ * 并发数和总耗时均有上限；预热完成（或超时）前就绪探针不返回 UP
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheWarmUpService {
+
+    private final CacheProperties cacheProperties;
+    private final ArticleService articleService;
+    private final CategoryService categoryService;
+    private final TagService tagService;
+    private final ArticleMapper articleMapper;
+
+    private volatile boolean finished;
+
+    /**
+     * 预热是否已结束（包括未启用、超时、失败）
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        CacheProperties.WarmUp config = cacheProperties.getWarmUp();
+        if (!config.isEnabled()) {
+            finished = true;
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        AtomicInteger failures = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.getConcurrency()), runnable -> {
+            Thread thread = new Thread(runnable, "cache-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Runnable> tasks = buildTasks(config);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        task.run();
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        log.warn("Cache warm-up task failed", e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                    .get(config.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up finished, tasks: {}, failures: {}, cost: {}ms",
+                    tasks.size(), failures.get(), System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up exceeded {}, remaining tasks skipped", config.getTimeout());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed", e);
+        } finally {
+            executor.shutdownNow();
+            finished = true;
+        }
+    }
+
+    private List<Runnable> buildTasks(CacheProperties.WarmUp config) {
+        List<Runnable> tasks = new ArrayList<>();
+        for (Integer limit : config.getLimits()) {
+            tasks.add(() -> articleService.getHotArticles(limit));
+            tasks.add(() -> articleService.getLatestArticles(limit));
+        }
+        tasks.add(categoryService::listWithArticleCount);
+        tasks.add(tagService::listWithArticleCount);
+
+        if (config.getTopDetails() > 0) {
+            List<Article> articles = articleMapper.selectPage(new Page<>(1, config.getTopDetails(), false),
+                    new LambdaQueryWrapper<Article>()
+                            .select(Article::getId)
+                            .eq(Article::getStatus, 1)
+                            .orderByDesc(Article::getViewCount))
+                    .getRecords();
+            for (Article article : articles) {
+                Long articleId = article.getId();
+                tasks.add(() -> articleService.warmUpArticleDetail(articleId));
+            }
+        }
+        return tasks;
+    }
+}
@@ -22,4 +22,9 @@ public interface CategoryService extends IService<Category> {
      */
     void updateBatchSort(List<Long> ids);
 
+    /**
+     * 清除分类列表缓存（分类或文章变更后调用）
+     */
+    void evictListCache();
+
 }
@@ -0,0 +1,127 @@
+package com.qblog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.qblog.common.cache.LongObjectMap;
+import com.qblog.entity.Category;
+import com.qblog.entity.Tag;
+import com.qblog.entity.User;
+import com.qblog.event.DataRestoredEvent;
+import com.qblog.mapper.CategoryMapper;
+import com.qblog.mapper.TagMapper;
+import com.qblog.mapper.UserMapper;
+import com.qblog.model.vo.CategoryVO;
+import com.qblog.model.vo.TagVO;
+import com.qblog.model.vo.UserVO;
+import com.qblog.util.VoConverter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 字典快照（用户、分类、标签）
+ * 三张表数据量小且很少变更，整体加载到内存，组装文章 VO 时直接查快照，不再查询数据库
+ * 快照不可变，版本号为缓存服务中 dict 命名空间的版本号：写入时版本号加一，
+ * 各节点下次访问发现版本不一致后重建（Redis 启用时版本号变更通过发布订阅通知所有节点）
+ * 快照中的 VO 被所有请求共享，只读，不要修改
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DictionaryService {
+
+    private static final String GENERATION_NAMESPACE = "dict";
+    // 两次重建的最小间隔，避免版本号读取异常时反复重建
+    private static final long MIN_REBUILD_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final UserMapper userMapper;
+    private final CategoryMapper categoryMapper;
+    private final TagMapper tagMapper;
+    private final CacheService cacheService;
+
+    private volatile Snapshot snapshot;
+    private volatile long lastRebuildNanos;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    @PostConstruct
+    public void init() {
+        try {
+            snapshot = build(cacheService.getGeneration(GENERATION_NAMESPACE));
+        } catch (Exception e) {
+            // 首次访问时重试
+            log.warn("Failed to build dictionary snapshot", e);
+        }
+    }
+
+    /**
+     * 获取当前快照，版本落后时由一个线程重建，其余线程继续使用旧快照
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return initialSnapshot();
+        }
+        long generation = cacheService.getGeneration(GENERATION_NAMESPACE);
+        if (current.version() == generation
+                || System.nanoTime() - lastRebuildNanos < MIN_REBUILD_INTERVAL_NANOS
+                || !rebuilding.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            current = build(generation);
+            snapshot = current;
+        } catch (Exception e) {
+            log.warn("Failed to rebuild dictionary snapshot, keep version {}", current.version(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+        return current;
+    }
+
+    /**
+     * 用户、分类或标签变更后调用
+     */
+    public void invalidate() {
+        cacheService.bumpGeneration(GENERATION_NAMESPACE);
+    }
+
+    @EventListener(DataRestoredEvent.class)
+    public void onDataRestored() {
+        invalidate();
+    }
+
+    private synchronized Snapshot initialSnapshot() {
+        if (snapshot == null) {
+            snapshot = build(cacheService.getGeneration(GENERATION_NAMESPACE));
+        }
+        return snapshot;
+    }
+
+    private Snapshot build(long version) {
+        lastRebuildNanos = System.nanoTime();
+        // 先读取版本号再加载数据，加载期间的变更会使版本号再次落后，下次访问时重建
+        LongObjectMap<UserVO> users = LongObjectMap.of(
+            userMapper.selectList(new LambdaQueryWrapper<User>()
+                .select(User::getId, User::getUsername, User::getNickname, User::getAvatar,
+                    User::getEmail, User::getRole, User::getCreateTime)),
+            User::getId, VoConverter::toUserVO);
+        LongObjectMap<CategoryVO> categories = LongObjectMap.of(categoryMapper.selectList(null),
+            Category::getId, VoConverter::toCategoryVO);
+        LongObjectMap<TagVO> tags = LongObjectMap.of(tagMapper.selectList(null),
+            Tag::getId, VoConverter::toTagVO);
+        log.debug("Dictionary snapshot built, version: {}, users: {}, categories: {}, tags: {}",
+            version, users.size(), categories.size(), tags.size());
+        return new Snapshot(version, users, categories, tags);
+    }
+
+    /**
+     * 不可变字典快照
+     */
+    public record Snapshot(long version, LongObjectMap<UserVO> users, LongObjectMap<CategoryVO> categories,
+                           LongObjectMap<TagVO> tags) {
+    }
+}
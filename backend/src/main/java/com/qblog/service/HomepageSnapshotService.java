@@ -0,0 +1,289 @@
+package com.qblog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.qblog.entity.Article;
+import com.qblog.entity.ArticleSummary;
+import com.qblog.event.ArticleChangedEvent;
+import com.qblog.event.DataRestoredEvent;
+import com.qblog.event.TaxonomyChangedEvent;
+import com.qblog.mapper.ArticleMapper;
+import com.qblog.model.vo.ArticleListItemVO;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 首页列表快照（最新文章、热门文章）
+ * 在内存中保存前 CAPACITY 篇文章及组装好的列表项，读取时直接截取，不查询缓存和数据库；
+ * 文章发布、下线、编辑后在快照中原位插入/移除/替换，组装新的不可变快照后整体替换引用，读取方不会看到中间状态。
+ * 热门文章的排名随浏览实时变化，每 10 秒按热度排名重新生成；
+ * 其他节点的变更每分钟按 update_time 同步，浏览量、分类/标签名称等每 5 分钟全量刷新一次
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HomepageSnapshotService {
+
+    /**
+     * 快照保存的文章数（接口 limit 的上限）
+     */
+    public static final int CAPACITY = 50;
+
+    // 与 ORDER BY publish_time DESC 一致，NULL 排在最后；发布时间相同时按 ID 倒序
+    private static final Comparator<ArticleSummary> LATEST_ORDER = Comparator
+        .comparing(ArticleSummary::getPublishTime, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+        .thenComparing(ArticleSummary::getId)
+        .reversed();
+
+    private final ArticleSummaryService articleSummaryService;
+    private final HotRankingService hotRankingService;
+    private final ArticleMapper articleMapper;
+
+    private volatile Snapshot latest;
+    private volatile Snapshot hot;
+
+    // 已同步到的最大 update_time
+    private volatile LocalDateTime watermark;
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            // 定时任务重试，未就绪时调用方回退到查询
+            log.error("Failed to load homepage snapshots", e);
+        }
+    }
+
+    /**
+     * 最新文章，快照未就绪时返回 null
+     */
+    public List<ArticleListItemVO> latest(int limit) {
+        return slice(latest, limit);
+    }
+
+    /**
+     * 热门文章，快照未就绪时返回 null
+     */
+    public List<ArticleListItemVO> hot(int limit) {
+        return slice(hot, limit);
+    }
+
+    /**
+     * 查询最新发布的文章
+     */
+    public List<ArticleSummary> queryLatest(int limit) {
+        // 使用 Page 对象实现 LIMIT，避免 SQL 注入
+        Page<ArticleSummary> page = new Page<>(1, limit, false);
+        return articleSummaryService.page(page, new LambdaQueryWrapper<ArticleSummary>()
+                .eq(ArticleSummary::getStatus, 1)
+                .orderByDesc(ArticleSummary::getPublishTime, ArticleSummary::getId))
+            .getRecords();
+    }
+
+    /**
+     * 按时间衰减的浏览热度查询热门文章
+     */
+    public List<ArticleSummary> queryHot(int limit) {
+        // 按热度排名取前几名，多取一倍以跳过尚未移出排名的已下线文章
+        List<ArticleSummary> ranked = articleSummaryService.listPublishedByIds(hotRankingService.top(limit * 2));
+        List<ArticleSummary> summaries = new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+
+        // 近期浏览的文章不足时（如刚启动）按累计浏览量补齐
+        if (summaries.size() < limit) {
+            Set<Long> rankedIds = summaries.stream().map(ArticleSummary::getId).collect(Collectors.toSet());
+            // 使用 Page 对象实现 LIMIT，避免 SQL 注入
+            Page<ArticleSummary> page = new Page<>(1, limit, false);
+            articleSummaryService.page(page, new LambdaQueryWrapper<ArticleSummary>()
+                    .eq(ArticleSummary::getStatus, 1)
+                    .orderByDesc(ArticleSummary::getViewCount))
+                .getRecords().stream()
+                .filter(summary -> !rankedIds.contains(summary.getId()))
+                .limit(limit - summaries.size())
+                .forEach(summaries::add);
+        }
+        return summaries;
+    }
+
+    /**
+     * 本节点文章变更，事务提交后更新快照（无事务时直接执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        try {
+            apply(event.getArticleId());
+        } catch (Exception e) {
+            // 定时同步时补上
+            log.warn("Failed to update homepage snapshots for article {}", event.getArticleId(), e);
+        }
+    }
+
+    /**
+     * 分类、标签改名或删除提交后重新加载，快照中的列表项冗余了其名称
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        scheduledReload();
+    }
+
+    /**
+     * 数据恢复后重新加载
+     */
+    @EventListener(DataRestoredEvent.class)
+    public void onDataRestored() {
+        reload();
+    }
+
+    /**
+     * 定时任务：按热度排名重新生成热门文章（每 10 秒）
+     * 查询与替换在同一把锁内，避免覆盖查询期间 apply 的变更
+     */
+    @Scheduled(fixedDelay = 10000, initialDelay = 10000)
+    public void refreshHot() {
+        try {
+            synchronized (this) {
+                List<ArticleSummary> rows = queryHot(CAPACITY);
+                hot = new Snapshot(rows, articleSummaryService.toListItemVO(rows));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh hot articles snapshot", e);
+        }
+    }
+
+    /**
+     * 定时任务：同步其他节点的变更（每分钟）
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void syncChanges() {
+        try {
+            if (latest == null || watermark == null) {
+                reload();
+                return;
+            }
+            // 使用 >= 避免遗漏与水位线同一时刻的更新，重复应用结果相同
+            List<Article> changed = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId, Article::getUpdateTime)
+                .ge(Article::getUpdateTime, watermark));
+            for (Article article : changed) {
+                apply(article.getId());
+                advanceWatermark(article.getUpdateTime());
+            }
+        } catch (Exception e) {
+            log.warn("Failed to sync homepage snapshots", e);
+        }
+    }
+
+    /**
+     * 定时任务：全量刷新，带上最新的浏览量、分类/标签名称（每 5 分钟）
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Failed to reload homepage snapshots", e);
+        }
+    }
+
+    /**
+     * 查询与替换同样持有锁，与 apply 串行执行
+     */
+    private synchronized void reload() {
+        // 先取水位线再查询，查询期间其他节点的变更会在下次同步时重复应用
+        LocalDateTime syncedTo = maxUpdateTime();
+        List<ArticleSummary> latestRows = queryLatest(CAPACITY);
+        List<ArticleSummary> hotRows = queryHot(CAPACITY);
+        latest = new Snapshot(latestRows, articleSummaryService.toListItemVO(latestRows));
+        hot = new Snapshot(hotRows, articleSummaryService.toListItemVO(hotRows));
+        advanceWatermark(syncedTo);
+        log.debug("Homepage snapshots loaded, latest: {}, hot: {}", latestRows.size(), hotRows.size());
+    }
+
+    /**
+     * 在快照中原位更新一篇文章：最新文章按发布时间插入或移除，热门文章只替换或移除（排名由热度决定）
+     */
+    private synchronized void apply(Long articleId) {
+        if (latest == null || hot == null) {
+            return;
+        }
+        List<ArticleSummary> found = articleSummaryService.listPublishedByIds(Collections.singletonList(articleId));
+        ArticleSummary row = found.isEmpty() ? null : found.get(0);
+
+        List<ArticleSummary> latestRows = new ArrayList<>(latest.rows());
+        boolean wasFull = latestRows.size() >= CAPACITY;
+        boolean removed = latestRows.removeIf(summary -> summary.getId().equals(articleId));
+        if (row != null) {
+            int index = Collections.binarySearch(latestRows, row, LATEST_ORDER);
+            latestRows.add(index < 0 ? -index - 1 : index, row);
+            if (latestRows.size() > CAPACITY) {
+                latestRows.remove(latestRows.size() - 1);
+            }
+        }
+        // 快照已满时移出或移到末尾的文章之后可能还有未加载的文章，重新查询
+        boolean needsQuery = wasFull && removed
+            && (row == null || latestRows.get(latestRows.size() - 1).getId().equals(articleId));
+        if (needsQuery) {
+            latestRows = queryLatest(CAPACITY);
+        }
+        latest = new Snapshot(latestRows, articleSummaryService.toListItemVO(latestRows));
+
+        List<ArticleSummary> hotRows = new ArrayList<>(hot.rows());
+        for (int i = 0; i < hotRows.size(); i++) {
+            if (hotRows.get(i).getId().equals(articleId)) {
+                if (row == null) {
+                    hotRows.remove(i);
+                } else {
+                    hotRows.set(i, row);
+                }
+                hot = new Snapshot(hotRows, articleSummaryService.toListItemVO(hotRows));
+                break;
+            }
+        }
+    }
+
+    private LocalDateTime maxUpdateTime() {
+        List<Article> rows = articleMapper.selectPage(new Page<>(1, 1, false), new LambdaQueryWrapper<Article>()
+                .select(Article::getUpdateTime)
+                .orderByDesc(Article::getUpdateTime))
+            .getRecords();
+        return rows.isEmpty() || rows.get(0) == null ? LocalDateTime.now() : rows.get(0).getUpdateTime();
+    }
+
+    private synchronized void advanceWatermark(LocalDateTime updateTime) {
+        if (updateTime != null && (watermark == null || updateTime.isAfter(watermark))) {
+            watermark = updateTime;
+        }
+    }
+
+    private static List<ArticleListItemVO> slice(Snapshot snapshot, int limit) {
+        if (snapshot == null || limit > CAPACITY) {
+            return null;
+        }
+        List<ArticleListItemVO> items = snapshot.items();
+        return items.size() > limit ? items.subList(0, limit) : items;
+    }
+
+    /**
+     * 不可变快照：文章行及对应的列表项
+     */
+    private record Snapshot(List<ArticleSummary> rows, List<ArticleListItemVO> items) {
+
+        Snapshot {
+            rows = List.copyOf(rows);
+            items = List.copyOf(items);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.qblog.service;
+
+import com.qblog.config.HotRankingProperties;
+import com.qblog.entity.Article;
+import com.qblog.event.ArticleChangedEvent;
+import com.qblog.mapper.ArticleMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.zset.Aggregate;
+import org.springframework.data.redis.connection.zset.Weights;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 热门文章排名（按时间衰减的浏览热度）
+ * 每次浏览的贡献随时间指数衰减：热度 = Σ 2^(-(now - 浏览时间) / 半衰期)。
+ * 实现上改为给新的浏览更大的权重 2^((浏览时间 - 基准时间) / 半衰期)，已有热度无需随时间更新，排名顺序不变；
+ * 基准时间每 28 个半衰期（默认 7 天）前移一次，并把上一周期的热度按比例缩小合并，避免权重溢出。
+ * Redis 启用时保存在有序集合中（多节点共享），取前 k 名为 O(log n + k)；
+ * 禁用时保存在本地内存，定时计算前 max-size 名供读取
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotRankingService {
+
+    private static final String RANK_KEY_PREFIX = "article:hotrank:";
+    private static final String MERGED_SUFFIX = ":merged";
+    // 基准时间每隔多少个半衰期前移一次，周期内权重最大为 2^28
+    private static final int HALF_LIVES_PER_GENERATION = 28;
+
+    private final HotRankingProperties hotRankingProperties;
+    private final ArticleMapper articleMapper;
+
+    @Autowired(required = false)
+    private StringRedisTemplate redisTemplate;
+
+    // Redis：本节点已确认完成合并的周期
+    private volatile long mergedGeneration = -1;
+
+    // 本地热度（Redis 禁用时使用），缩放时持有写锁
+    private final Map<Long, Double> localScores = new ConcurrentHashMap<>();
+    private final ReadWriteLock localLock = new ReentrantReadWriteLock();
+    private volatile long localGeneration;
+    private volatile List<Long> localTop = Collections.emptyList();
+    private volatile boolean localDirty;
+
+    @PostConstruct
+    public void init() {
+        localGeneration = currentGeneration();
+    }
+
+    /**
+     * 记录一次浏览
+     */
+    public void recordView(Long articleId) {
+        long now = System.currentTimeMillis();
+        long generation = generationOf(now);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.opsForZSet().incrementScore(rankKey(generation), articleId.toString(),
+                    weight(now, generation));
+                ensureMerged(generation);
+            } catch (Exception e) {
+                log.warn("Failed to record hot ranking view for article: {}", articleId, e);
+            }
+            return;
+        }
+        localLock.readLock().lock();
+        try {
+            localScores.merge(articleId, weight(now, localGeneration), Double::sum);
+            localDirty = true;
+        } finally {
+            localLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 热度最高的文章 ID（按热度倒序），可能包含已下线的文章，由调用方过滤
+     */
+    public List<Long> top(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        if (redisTemplate != null) {
+            long generation = currentGeneration();
+            try {
+                ensureMerged(generation);
+                Set<String> members = redisTemplate.opsForZSet().reverseRange(rankKey(generation), 0, limit - 1);
+                if (members == null) {
+                    return Collections.emptyList();
+                }
+                List<Long> ids = new ArrayList<>(members.size());
+                members.forEach(member -> ids.add(Long.valueOf(member)));
+                return ids;
+            } catch (Exception e) {
+                log.warn("Failed to read hot ranking", e);
+                return Collections.emptyList();
+            }
+        }
+        List<Long> top = localTop;
+        return top.size() > limit ? top.subList(0, limit) : top;
+    }
+
+    /**
+     * 文章下线或删除后移出排名（事务提交后执行）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleChanged(ArticleChangedEvent event) {
+        Long articleId = event.getArticleId();
+        try {
+            List<Article> articles = articleMapper.selectListItemsByIds(Collections.singletonList(articleId));
+            if (!articles.isEmpty() && Objects.equals(articles.get(0).getStatus(), 1)) {
+                return;
+            }
+            if (redisTemplate != null) {
+                redisTemplate.opsForZSet().remove(rankKey(currentGeneration()), articleId.toString());
+            } else if (localScores.remove(articleId) != null) {
+                localTop = localTop.stream().filter(id -> !id.equals(articleId)).toList();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to remove article {} from hot ranking", articleId, e);
+        }
+    }
+
+    /**
+     * 定时任务：Redis 中裁剪排名长度（每 5 分钟）
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void trim() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForZSet().removeRange(rankKey(currentGeneration()), 0,
+                -(hotRankingProperties.getMaxSize() + 1L));
+        } catch (Exception e) {
+            log.warn("Failed to trim hot ranking", e);
+        }
+    }
+
+    /**
+     * 定时任务：本地排名重新计算前 max-size 名，周期切换时缩放热度（每 10 秒）
+     */
+    @Scheduled(fixedDelay = 10000, initialDelay = 10000)
+    public void refreshLocal() {
+        if (redisTemplate != null) {
+            return;
+        }
+        long generation = currentGeneration();
+        if (generation != localGeneration) {
+            localLock.writeLock().lock();
+            try {
+                double factor = Math.pow(2, -(double) (generation - localGeneration) * HALF_LIVES_PER_GENERATION);
+                localScores.replaceAll((id, score) -> score * factor);
+                localGeneration = generation;
+            } finally {
+                localLock.writeLock().unlock();
+            }
+        }
+        if (!localDirty) {
+            return;
+        }
+        localDirty = false;
+
+        int maxSize = hotRankingProperties.getMaxSize();
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : localScores.entrySet()) {
+            if (heap.size() < maxSize) {
+                heap.add(Map.entry(entry.getKey(), entry.getValue()));
+            } else if (entry.getValue() > heap.peek().getValue()) {
+                heap.poll();
+                heap.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(heap);
+        sorted.sort(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder()));
+        localTop = sorted.stream().map(Map.Entry::getKey).toList();
+
+        // 排名之外的文章超过保留数量时删除，限制内存占用
+        if (localScores.size() > maxSize * 2) {
+            localScores.keySet().retainAll(new HashSet<>(localTop));
+        }
+    }
+
+    /**
+     * 新周期第一次访问时，把上一周期的热度按比例缩小合并到新周期（多节点中只执行一次）
+     */
+    private void ensureMerged(long generation) {
+        if (mergedGeneration == generation) {
+            return;
+        }
+        String key = rankKey(generation);
+        Duration ttl = generationLength().multipliedBy(2);
+        Boolean first = redisTemplate.opsForValue().setIfAbsent(key + MERGED_SUFFIX, "1", ttl);
+        if (Boolean.TRUE.equals(first)) {
+            // ZUNIONSTORE 为原子操作，合并期间新记录的浏览不会丢失
+            redisTemplate.opsForZSet().unionAndStore(key, Collections.singletonList(rankKey(generation - 1)), key,
+                Aggregate.SUM, Weights.of(1, Math.pow(2, -HALF_LIVES_PER_GENERATION)));
+            redisTemplate.expire(key, ttl);
+            log.info("Hot ranking moved to generation {}", generation);
+        }
+        mergedGeneration = generation;
+    }
+
+    private double weight(long now, long generation) {
+        double elapsed = now - generation * generationLength().toMillis();
+        return Math.pow(2, elapsed / hotRankingProperties.getHalfLife().toMillis());
+    }
+
+    private Duration generationLength() {
+        return hotRankingProperties.getHalfLife().multipliedBy(HALF_LIVES_PER_GENERATION);
+    }
+
+    private long currentGeneration() {
+        return generationOf(System.currentTimeMillis());
+    }
+
+    private long generationOf(long millis) {
+        return millis / generationLength().toMillis();
+    }
+
+    private static String rankKey(long generation) {
+        return RANK_KEY_PREFIX + generation;
+    }
+}
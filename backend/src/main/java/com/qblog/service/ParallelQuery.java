@@ -0,0 +1,99 @@
+package com.qblog.service;
+
+import com.qblog.config.QueryProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 并行执行互不依赖的查询
+ * 第二个查询提交到有界线程池，第一个在当前线程执行，耗时约为较慢的一个；
+ * 任一查询失败时抛出其异常，超过 query.timeout 未完成时抛出超时异常；
+ * 线程池已满或当前处于事务中（其他线程无法使用本事务的连接）时顺序执行
+ */
+@Slf4j
+@Service
+public class ParallelQuery {
+
+    private final QueryProperties queryProperties;
+    private final ThreadPoolExecutor executor;
+
+    public ParallelQuery(QueryProperties queryProperties) {
+        this.queryProperties = queryProperties;
+        int threads = Math.max(1, queryProperties.getThreads());
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queryProperties.getQueueCapacity())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "parallel-query-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 同时执行两个查询
+     */
+    public <A, B> Pair<A, B> both(Supplier<A> first, Supplier<B> second) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return new Pair<>(first.get(), second.get());
+        }
+        long deadline = System.nanoTime() + queryProperties.getTimeout().toNanos();
+        CompletableFuture<B> future = CompletableFuture.supplyAsync(second, executor);
+        A firstResult;
+        try {
+            firstResult = first.get();
+        } catch (RuntimeException | Error e) {
+            future.cancel(false);
+            throw e;
+        }
+        return new Pair<>(firstResult, await(future, deadline));
+    }
+
+    private <T> T await(CompletableFuture<T> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 不再等待结果，查询本身在连接上继续执行直到结束
+            future.cancel(false);
+            log.warn("Parallel query timed out after {}", queryProperties.getTimeout());
+            throw new IllegalStateException("Parallel query timed out", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Parallel query failed", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted while waiting for parallel query", e);
+        }
+    }
+
+    /**
+     * 两个查询的结果
+     */
+    public record Pair<A, B>(A first, B second) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.qblog.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 相关文章索引
+ * 为每篇已发布文章预先计算相关文章 ID（得分规则见 ArticleFilterIndex#related），查询时直接读取内存；
+ * 文章的状态、标签、发布时间变化时，只重新计算它自己以及与它有共同标签的文章，由后台线程完成；
+ * 筛选索引全量重建后全部重新计算
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RelatedArticleIndex implements ArticleFilterIndex.ChangeListener {
+
+    // 每篇文章保存的相关文章数量（接口 limit 的上限）
+    private static final int MAX_RELATED = 20;
+
+    private final ArticleFilterIndex articleFilterIndex;
+
+    private final Map<Long, List<Long>> related = new ConcurrentHashMap<>();
+
+    // 待重新计算的文章，全量重算用 fullRebuild 标记
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean fullRebuild = new AtomicBoolean();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    // 每次变更加一，计算期间发生变更的结果不写入，避免覆盖较新的失效
+    private final AtomicLong generation = new AtomicLong();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "related-article-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void init() {
+        articleFilterIndex.addChangeListener(this);
+        if (articleFilterIndex.isReady()) {
+            onRebuilt();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 获取相关文章 ID，筛选索引未就绪时返回 null（调用方回退到数据库查询）
+     */
+    public List<Long> get(Long articleId, int limit) {
+        if (!articleFilterIndex.isReady()) {
+            return null;
+        }
+        List<Long> ids = related.get(articleId);
+        if (ids == null) {
+            // 尚未计算（或刚失效），直接在内存中计算一次
+            ids = compute(articleId);
+        }
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    @Override
+    public void onChanged(Set<Long> articleIds) {
+        generation.incrementAndGet();
+        articleIds.forEach(related::remove);
+        pending.addAll(articleIds);
+        schedule();
+    }
+
+    @Override
+    public void onRebuilt() {
+        generation.incrementAndGet();
+        fullRebuild.set(true);
+        schedule();
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (Exception e) {
+                draining.set(false);
+                log.warn("Failed to schedule related article computation", e);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            if (fullRebuild.getAndSet(false)) {
+                rebuildAll();
+            }
+            Iterator<Long> iterator = pending.iterator();
+            while (iterator.hasNext()) {
+                Long articleId = iterator.next();
+                iterator.remove();
+                compute(articleId);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to compute related articles", e);
+        } finally {
+            draining.set(false);
+        }
+        // 处理期间新加入的任务
+        if (fullRebuild.get() || !pending.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void rebuildAll() {
+        RoaringBitmap published = articleFilterIndex.match(1, null, null, false);
+        if (published == null) {
+            return;
+        }
+        related.clear();
+        List<Long> ids = new ArrayList<>(published.getCardinality());
+        published.forEach((int id) -> ids.add((long) id));
+        for (Long id : ids) {
+            if (fullRebuild.get()) {
+                // 又一次全量重建，交给下一轮
+                return;
+            }
+            compute(id);
+        }
+        log.info("Related articles computed for {} articles", ids.size());
+    }
+
+    private List<Long> compute(Long articleId) {
+        long startGeneration = generation.get();
+        List<Long> ids = List.copyOf(articleFilterIndex.related(articleId, MAX_RELATED));
+        // 空结果不保存（计算代价很低），避免不存在的 ID 占用内存
+        if (!ids.isEmpty() && generation.get() == startGeneration) {
+            related.put(articleId, ids);
+        }
+        return ids;
+    }
+}
@@ -22,4 +22,9 @@ public interface TagService extends IService<Tag> {
      * @return 是否删除成功
      */
     boolean deleteTagWithRelations(Long id);
+
+    /**
+     * 清除标签列表缓存（标签或文章变更后调用）
+     */
+    void evictListCache();
 }
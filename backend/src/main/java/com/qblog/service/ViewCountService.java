@@ -1,6 +1,7 @@
 package com.qblog.service;
 
 import com.qblog.mapper.ArticleMapper;
+import com.qblog.mapper.ArticleSummaryMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,12 +9,14 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Set;
 
 /**
  * 浏览量计数服务
  * 使用 Redis 进行计数（Redis 启用时），定时同步到数据库
- * Redis 禁用时直接写入数据库
+ * Redis 禁用时使用本地计数器，同样定时同步到数据库
+ * 实时浏览量 = 数据库中已持久化的浏览量（缓存）+ 尚未同步的增量
  */
 @Slf4j
 @Service
@@ -21,28 +24,52 @@ import java.util.Set;
 public class ViewCountService {
 
     private final ArticleMapper articleMapper;
+    private final ArticleSummaryMapper articleSummaryMapper;
+    private final CacheService cacheService;
+    private final HotRankingService hotRankingService;
 
     @Autowired(required = false)
     private StringRedisTemplate redisTemplate;
 
     private static final String VIEW_COUNT_KEY_PREFIX = "article:views:";
+    // 已持久化的浏览量缓存，同步后删除
+    private static final String PERSISTED_COUNT_KEY_PREFIX = "article:viewcount:";
+    private static final Duration TTL_PERSISTED_COUNT = Duration.ofMinutes(10);
 
     // 本地计数器（Redis 禁用时使用）
     private final java.util.Map<Long, Long> localViewCounts = new java.util.concurrent.ConcurrentHashMap<>();
 
     /**
      * 增加文章浏览量
-     * Redis 启用时写入 Redis，禁用时直接写入数据库
+     * Redis 启用时写入 Redis，禁用时写入本地计数器
+     *
+     * @return 增加后尚未同步到数据库的浏览量
      */
-    public void incrementViewCount(Long articleId) {
+    public long incrementViewCount(Long articleId) {
+        // 时间衰减的热度排名实时更新，不等待同步到数据库
+        hotRankingService.recordView(articleId);
         if (redisTemplate != null) {
             // Redis 启用，写入 Redis
             String key = VIEW_COUNT_KEY_PREFIX + articleId;
-            redisTemplate.opsForValue().increment(key);
-        } else {
-            // Redis 禁用，使用本地计数器
-            localViewCounts.merge(articleId, 1L, Long::sum);
+            try {
+                Long pending = redisTemplate.opsForValue().increment(key);
+                return pending == null ? 0 : pending;
+            } catch (Exception e) {
+                log.warn("Failed to increment view count for article: {}", articleId, e);
+                return 0;
+            }
         }
+        // Redis 禁用，使用本地计数器
+        return localViewCounts.merge(articleId, 1L, Long::sum);
+    }
+
+    /**
+     * 获取已持久化到数据库的浏览量（带缓存，同步后失效）
+     */
+    public long getPersistedViewCount(Long articleId) {
+        Long count = cacheService.getOrLoad(PERSISTED_COUNT_KEY_PREFIX + articleId, Long.class, TTL_PERSISTED_COUNT,
+                () -> articleMapper.selectViewCount(articleId));
+        return count == null ? 0 : count;
     }
 
     /**
@@ -85,6 +112,8 @@ public class ViewCountService {
                     long count = Long.parseLong(countStr);
                     if (count > 0) {
                         articleMapper.incrementViewCount(articleId, count);
+                        articleSummaryMapper.incrementViewCount(articleId, count);
+                        cacheService.delete(PERSISTED_COUNT_KEY_PREFIX + articleId);
                         syncCount++;
                     }
                 }
@@ -114,7 +143,10 @@ public class ViewCountService {
 
                 if (count > 0) {
                     articleMapper.incrementViewCount(articleId, count);
-                    localViewCounts.put(articleId, 0L); // 重置计数器
+                    articleSummaryMapper.incrementViewCount(articleId, count);
+                    // 减去已同步的部分，保留同步期间新增的浏览量
+                    localViewCounts.merge(articleId, -count, Long::sum);
+                    cacheService.delete(PERSISTED_COUNT_KEY_PREFIX + articleId);
                     syncCount++;
                 }
             } catch (Exception e) {
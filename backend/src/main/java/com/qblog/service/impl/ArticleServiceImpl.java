@@ -2,41 +2,67 @@ package com.qblog.service.impl;
 
 import cn.hutool.core.bean.BeanUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.SecureUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.qblog.common.cache.CacheBatchResult;
+import com.qblog.common.exception.BusinessException;
 import com.qblog.common.exception.ResourceNotFoundException;
+import com.qblog.common.search.SearchResult;
+import com.qblog.config.CacheProperties;
 import com.qblog.entity.Article;
+import com.qblog.entity.ArticleSummary;
 import com.qblog.entity.ArticleTag;
-import com.qblog.entity.Category;
-import com.qblog.entity.Tag;
-import com.qblog.entity.User;
+import com.qblog.event.ArticleChangedEvent;
+import com.qblog.event.TaxonomyChangedEvent;
 import com.qblog.mapper.ArticleMapper;
 import com.qblog.model.dto.ArticleDTO;
 import com.qblog.model.vo.ArticleListItemVO;
+import com.qblog.model.vo.ArticlePageVO;
+import com.qblog.model.vo.ArticleScrollVO;
+import com.qblog.model.vo.ArticleSearchHitVO;
 import com.qblog.model.vo.ArticleVO;
 import com.qblog.model.vo.CategoryVO;
 import com.qblog.model.vo.TagVO;
 import com.qblog.model.vo.UserVO;
+import com.qblog.service.ArticleFilterIndex;
+import com.qblog.service.ArticleIdFilter;
+import com.qblog.service.ArticleSearchService;
 import com.qblog.service.ArticleService;
+import com.qblog.service.ArticleSummaryService;
 import com.qblog.service.ArticleTagService;
 import com.qblog.service.CacheService;
 import com.qblog.service.CategoryService;
+import com.qblog.service.DictionaryService;
+import com.qblog.service.HomepageSnapshotService;
+import com.qblog.service.ParallelQuery;
+import com.qblog.service.RelatedArticleIndex;
 import com.qblog.service.TagService;
-import com.qblog.service.UserService;
 import com.qblog.service.ViewCountService;
+import com.qblog.util.VoConverter;
 import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -47,55 +73,303 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> implements ArticleService {
 
-    private final UserService userService;
     private final CategoryService categoryService;
     private final TagService tagService;
     private final ArticleTagService articleTagService;
     private final CacheService cacheService;
     private final ViewCountService viewCountService;
+    private final ArticleIdFilter articleIdFilter;
+    private final DictionaryService dictionaryService;
+    private final CacheProperties cacheProperties;
+    private final ArticleSearchService articleSearchService;
+    private final ArticleFilterIndex articleFilterIndex;
+    private final RelatedArticleIndex relatedArticleIndex;
+    private final ArticleSummaryService articleSummaryService;
+    private final ParallelQuery parallelQuery;
+    private final HomepageSnapshotService homepageSnapshotService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 缓存 Key 前缀
     private static final String CACHE_ARTICLE_DETAIL = "article:detail:";
+    private static final String CACHE_ARTICLE_ITEM = "article:item:";
+    private static final String CACHE_ARTICLE_PAGE = "article:page:";
+    private static final String CACHE_ARTICLE_COUNT = "article:count:admin";
     private static final String CACHE_ARTICLE_HOT = "article:hot";
     private static final String CACHE_ARTICLE_LATEST = "article:latest";
     private static final Duration TTL_DETAIL = Duration.ofMinutes(10);
-    private static final Duration TTL_HOT = Duration.ofMinutes(30);
+    private static final Duration TTL_ITEM = Duration.ofMinutes(10);
+    private static final Duration TTL_PAGE = Duration.ofMinutes(2);
+    private static final Duration TTL_COUNT = Duration.ofMinutes(1);
+    // 热门文章按实时热度排名，只短暂缓存
+    private static final Duration TTL_HOT = Duration.ofMinutes(1);
+    // 超过上面的 TTL 后返回旧值并后台刷新，超过下面的 TTL 才同步加载
+    private static final Duration TTL_DETAIL_HARD = Duration.ofHours(1);
+    private static final Duration TTL_HOT_HARD = Duration.ofMinutes(10);
     private static final Duration TTL_LATEST = Duration.ofMinutes(5);
 
     @Override
-    public Page<ArticleListItemVO> getArticleList(Integer page, Integer size, Long categoryId,
-                                                   Long tagId, String keyword, String sortBy, String sortOrder) {
-        Page<Article> articlePage = new Page<>(page, size);
+    public Page<ArticleListItemVO> getArticleList(Integer page, Integer size, Long categoryId, List<Long> tagIds,
+                                                   boolean matchAllTags, String keyword, String sortBy,
+                                                   String sortOrder) {
+        String namespace = pageCacheNamespace(page, categoryId, tagIds, keyword);
+        if (namespace == null) {
+            return queryArticleList(page, size, categoryId, tagIds, matchAllTags, keyword, sortBy, sortOrder);
+        }
 
-        LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
+        // 前几页按 (page, size, 排序) 缓存，分类/标签维度各自一个版本号，文章变更时只失效受影响的维度
+        String sort = StrUtil.isBlank(sortBy) ? "default"
+                : getSortColumn(sortBy) + ":" + ("asc".equalsIgnoreCase(sortOrder) ? "asc" : "desc");
+        String cacheKey = cacheService.versionedKey(namespace, page + ":" + size + ":" + sort);
+        ArticlePageVO cached = cacheService.getOrLoad(cacheKey, ArticlePageVO.class, TTL_PAGE, () -> {
+            Page<ArticleListItemVO> result = queryArticleList(page, size, categoryId, tagIds, false, null,
+                sortBy, sortOrder);
+            ArticlePageVO pageVO = new ArticlePageVO();
+            pageVO.setTotal(result.getTotal());
+            pageVO.setRecords(result.getRecords());
+            return pageVO;
+        });
+
+        Page<ArticleListItemVO> voPage = new Page<>(page, size);
+        voPage.setTotal(cached.getTotal());
+        voPage.setRecords(cached.getRecords());
+        return voPage;
+    }
+
+    /**
+     * 列表分页缓存的命名空间，不缓存时返回 null（关键词搜索、超过缓存页数、同时按分类和标签或按多个标签筛选）
+     */
+    private String pageCacheNamespace(Integer page, Long categoryId, List<Long> tagIds, String keyword) {
+        if (StrUtil.isNotBlank(keyword) || page > cacheProperties.getListPage().getMaxPages()) {
+            return null;
+        }
+        int tagCount = tagIds == null ? 0 : tagIds.size();
+        if (tagCount > 1 || (categoryId != null && tagCount > 0)) {
+            return null;
+        }
+        if (categoryId != null) {
+            return CACHE_ARTICLE_PAGE + "cat:" + categoryId;
+        }
+        if (tagCount == 1) {
+            return CACHE_ARTICLE_PAGE + "tag:" + tagIds.get(0);
+        }
+        return CACHE_ARTICLE_PAGE + "all";
+    }
+
+    private Page<ArticleListItemVO> queryArticleList(Integer page, Integer size, Long categoryId, List<Long> tagIds,
+                                                     boolean matchAllTags, String keyword, String sortBy,
+                                                     String sortOrder) {
+        // 无关键词且按发布时间排序时，筛选、计数、分页都在位图索引中完成，只按主键查询当前页
+        boolean indexable = StrUtil.isBlank(keyword) && (StrUtil.isBlank(sortBy) || "publishTime".equals(sortBy));
+        RoaringBitmap matched = indexable ? articleFilterIndex.match(1, categoryId, tagIds, matchAllTags) : null;
+        if (matched != null) {
+            List<Long> ids = articleFilterIndex.page(matched, StrUtil.isBlank(sortBy),
+                "asc".equalsIgnoreCase(sortOrder), (page - 1) * size, size);
+            Page<ArticleListItemVO> voPage = new Page<>(page, size);
+            voPage.setTotal(matched.getLongCardinality());
+            voPage.setRecords(articleSummaryService.toListItemVO(articleSummaryService.listPublishedByIds(ids)));
+            return voPage;
+        }
+
+        // 公开列表查询读模型表（已冗余作者、分类、标签），不再关联其他表
+        // 当前页与总数分别查询并行执行，不使用分页插件先 COUNT 再查询的顺序执行
+        Page<ArticleSummary> summaryPage = new Page<>(page, size, false);
+
+        LambdaQueryWrapper<ArticleSummary> wrapper = publicListFilter(categoryId, tagIds, matchAllTags, keyword);
+
+        // 排序 - 使用安全的方式，避免 SQL 注入
+        if (StrUtil.isNotBlank(sortBy)) {
+            boolean isAsc = "asc".equalsIgnoreCase(sortOrder);
+            switch (sortBy) {
+                case "createTime" -> wrapper.orderBy(true, isAsc, ArticleSummary::getCreateTime);
+                case "viewCount" -> wrapper.orderBy(true, isAsc, ArticleSummary::getViewCount);
+                default -> wrapper.orderBy(true, isAsc, ArticleSummary::getPublishTime);
+            }
+        } else {
+            wrapper.orderByDesc(true, ArticleSummary::getTop);
+            wrapper.orderByDesc(true, ArticleSummary::getPublishTime);
+        }
+
+        ParallelQuery.Pair<List<ArticleSummary>, Long> result = parallelQuery.both(
+            () -> articleSummaryService.page(summaryPage, wrapper).getRecords(),
+            () -> articleSummaryService.count(publicListFilter(categoryId, tagIds, matchAllTags, keyword)));
+
+        // 转换为 VO
+        Page<ArticleListItemVO> voPage = new Page<>(page, size);
+        voPage.setTotal(result.second());
+        voPage.setRecords(articleSummaryService.toListItemVO(result.first()));
+
+        return voPage;
+    }
+
+    private LambdaQueryWrapper<ArticleSummary> publicListFilter(Long categoryId, List<Long> tagIds,
+                                                                boolean matchAllTags, String keyword) {
+        LambdaQueryWrapper<ArticleSummary> wrapper = new LambdaQueryWrapper<>();
         // 默认只查询已发布的文章
-        wrapper.eq(Article::getStatus, 1);
+        wrapper.eq(ArticleSummary::getStatus, 1);
 
         if (categoryId != null) {
-            wrapper.eq(Article::getCategoryId, categoryId);
+            wrapper.eq(ArticleSummary::getCategoryId, categoryId);
+        }
+        if (tagIds != null && !tagIds.isEmpty()) {
+            applyTagFilter(wrapper, tagIds, matchAllTags);
+        }
+        if (StrUtil.isNotBlank(keyword)) {
+            wrapper.and(w -> w.like(ArticleSummary::getTitle, keyword)
+                    .or().like(ArticleSummary::getSummary, keyword));
+        }
+        return wrapper;
+    }
+
+    /**
+     * 按标签筛选（位图索引未就绪时使用）
+     * 使用子查询由数据库完成关联，不再把标签下的全部文章 ID 拼成 IN 列表；标签 ID 为 Long，拼接到 SQL 中是安全的
+     */
+    private void applyTagFilter(LambdaQueryWrapper<ArticleSummary> wrapper, List<Long> tagIds, boolean matchAllTags) {
+        List<Long> distinctTagIds = tagIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        String tagList = distinctTagIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        String subQuery = "SELECT article_id FROM article_tag WHERE tag_id IN (" + tagList + ")";
+        if (matchAllTags && distinctTagIds.size() > 1) {
+            subQuery += " GROUP BY article_id HAVING COUNT(DISTINCT tag_id) = " + distinctTagIds.size();
+        }
+        wrapper.inSql(ArticleSummary::getId, subQuery);
+    }
+
+    @Override
+    public ArticleScrollVO getArticleScroll(String cursor, Integer size, Long categoryId, Long tagId) {
+        List<Long> tagIds = tagId != null ? Collections.singletonList(tagId) : Collections.emptyList();
+        ScrollCursor position = StrUtil.isNotBlank(cursor) ? ScrollCursor.decode(cursor) : null;
+
+        // 位图索引就绪时在内存中定位游标之后的文章，只按主键查询当前页
+        RoaringBitmap matched = articleFilterIndex.match(1, categoryId, tagIds, false);
+        if (matched != null) {
+            List<Long> ids = position == null
+                ? articleFilterIndex.page(matched, true, false, 0, size + 1)
+                : articleFilterIndex.after(matched, position.top() == 1, position.publishTime(), position.id(),
+                    size + 1);
+            return toScrollVO(articleSummaryService.listPublishedByIds(ids), size);
+        }
+
+        LambdaQueryWrapper<ArticleSummary> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(ArticleSummary::getStatus, 1);
+        if (categoryId != null) {
+            wrapper.eq(ArticleSummary::getCategoryId, categoryId);
         }
         if (tagId != null) {
-            // 安全：先查询关联的文章ID，再使用 in 查询，避免 SQL 注入
-            List<Long> articleIds = articleTagService.list(
-                new LambdaQueryWrapper<ArticleTag>()
-                    .select(ArticleTag::getArticleId)
-                    .eq(ArticleTag::getTagId, tagId)
-            ).stream()
-             .map(ArticleTag::getArticleId)
-             .collect(Collectors.toList());
-
-            if (!articleIds.isEmpty()) {
-                wrapper.in(Article::getId, articleIds);
+            applyTagFilter(wrapper, tagIds, false);
+        }
+
+        // 按 (top, publish_time, id) 定位到上一页最后一条之后，走 idx_status_top_publish 索引范围扫描
+        // 倒序时 publish_time 为 NULL 的行排在同一 top 的最后
+        if (position != null) {
+            if (position.publishTime() != null) {
+                wrapper.and(w -> w.lt(ArticleSummary::getTop, position.top())
+                    .or(o -> o.eq(ArticleSummary::getTop, position.top())
+                        .lt(ArticleSummary::getPublishTime, position.publishTime()))
+                    .or(o -> o.eq(ArticleSummary::getTop, position.top())
+                        .eq(ArticleSummary::getPublishTime, position.publishTime())
+                        .lt(ArticleSummary::getId, position.id()))
+                    .or(o -> o.eq(ArticleSummary::getTop, position.top())
+                        .isNull(ArticleSummary::getPublishTime)));
             } else {
-                // 没有匹配的文章，返回空结果
-                wrapper.apply("1 = 0");
+                wrapper.and(w -> w.lt(ArticleSummary::getTop, position.top())
+                    .or(o -> o.eq(ArticleSummary::getTop, position.top())
+                        .isNull(ArticleSummary::getPublishTime)
+                        .lt(ArticleSummary::getId, position.id())));
             }
         }
-        if (StrUtil.isNotBlank(keyword)) {
-            wrapper.and(w -> w.like(Article::getTitle, keyword)
-                    .or().like(Article::getSummary, keyword));
+        wrapper.orderByDesc(ArticleSummary::getTop, ArticleSummary::getPublishTime, ArticleSummary::getId);
+
+        // 多取一条判断是否还有下一页，不执行 COUNT
+        List<ArticleSummary> summaries = articleSummaryService.page(new Page<>(1, size + 1, false), wrapper)
+            .getRecords();
+        return toScrollVO(summaries, size);
+    }
+
+    /**
+     * 组装游标分页结果，summaries 比 size 多一条时表示还有下一页
+     */
+    private ArticleScrollVO toScrollVO(List<ArticleSummary> summaries, int size) {
+        boolean hasMore = summaries.size() > size;
+        if (hasMore) {
+            summaries = summaries.subList(0, size);
+        }
+
+        ArticleScrollVO result = new ArticleScrollVO();
+        result.setRecords(articleSummaryService.toListItemVO(summaries));
+        result.setHasMore(hasMore);
+        if (hasMore) {
+            ArticleSummary last = summaries.get(summaries.size() - 1);
+            int top = last.getTop() != null ? last.getTop() : 0;
+            result.setNextCursor(new ScrollCursor(top, last.getPublishTime(), last.getId()).encode());
         }
-        
+        return result;
+    }
+
+    @Override
+    public Page<ArticleSearchHitVO> searchArticles(String query, Integer page, Integer size) {
+        Page<ArticleSearchHitVO> result = new Page<>(page, size);
+        SearchResult searchResult = articleSearchService.search(query, (page - 1) * size, size);
+        result.setTotal(searchResult.total());
+        if (searchResult.hits().isEmpty()) {
+            result.setRecords(Collections.emptyList());
+            return result;
+        }
+
+        // 按得分顺序组装，索引尚未同步的已删除/下线文章跳过
+        List<Long> ids = searchResult.hits().stream().map(SearchResult.Hit::id).collect(Collectors.toList());
+        Map<Long, ArticleSummary> summaryMap = articleSummaryService.listPublishedByIds(ids).stream()
+            .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+        List<SearchResult.Hit> hits = searchResult.hits().stream()
+            .filter(hit -> summaryMap.containsKey(hit.id()))
+            .collect(Collectors.toList());
+        List<ArticleListItemVO> items = articleSummaryService.toListItemVO(
+            hits.stream().map(hit -> summaryMap.get(hit.id())).collect(Collectors.toList()));
+
+        List<ArticleSearchHitVO> records = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            SearchResult.Hit hit = hits.get(i);
+            ArticleSearchHitVO vo = new ArticleSearchHitVO();
+            vo.setArticle(items.get(i));
+            vo.setTitleHighlight(articleSearchService.highlightTitle(hit.id(), searchResult.terms()));
+            vo.setSnippet(articleSearchService.snippet(hit.id(), searchResult.terms()));
+            vo.setScore(hit.score());
+            records.add(vo);
+        }
+        result.setRecords(records);
+        return result;
+    }
+
+    /**
+     * 游标分页位置，编码为 URL 安全的 Base64 字符串
+     */
+    private record ScrollCursor(Integer top, LocalDateTime publishTime, Long id) {
+
+        String encode() {
+            String raw = top + "|" + publishTime + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ScrollCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                LocalDateTime publishTime = "null".equals(parts[1]) ? null : LocalDateTime.parse(parts[1]);
+                return new ScrollCursor(Integer.valueOf(parts[0]), publishTime, Long.valueOf(parts[2]));
+            } catch (RuntimeException e) {
+                throw new BusinessException("无效的分页游标");
+            }
+        }
+    }
+
+    @Override
+    public Page<ArticleListItemVO> getAdminArticleList(Integer page, Integer size, Long categoryId, String keyword,
+                                                        Integer status, String sortBy, String sortOrder,
+                                                        boolean exactCount) {
+        // 分页查询不统计总数，总数单独查询（或取缓存）
+        Page<Article> articlePage = new Page<>(page, size, false);
+
+        LambdaQueryWrapper<Article> wrapper = adminListFilter(categoryId, keyword, status);
+
         // 排序 - 使用安全的方式，避免 SQL 注入
         if (StrUtil.isNotBlank(sortBy)) {
             boolean isAsc = "asc".equalsIgnoreCase(sortOrder);
@@ -105,25 +379,23 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                 default -> wrapper.orderBy(true, isAsc, Article::getPublishTime);
             }
         } else {
-            wrapper.orderByDesc(true, Article::getTop);
-            wrapper.orderByDesc(true, Article::getPublishTime);
+            wrapper.orderByDesc(true, Article::getCreateTime);
         }
 
-        Page<Article> resultPage = page(articlePage, wrapper);
+        // 当前页与总数并行查询
+        ParallelQuery.Pair<Page<Article>, Long> result = parallelQuery.both(
+            () -> baseMapper.selectListItemPage(articlePage, wrapper),
+            () -> countAdminArticles(categoryId, keyword, status, exactCount));
+        Page<Article> resultPage = result.first();
 
-        // 转换为 VO
-        Page<ArticleListItemVO> voPage = new Page<>();
-        voPage.setTotal(resultPage.getTotal());
+        Page<ArticleListItemVO> voPage = new Page<>(resultPage.getCurrent(), resultPage.getSize());
+        voPage.setTotal(result.second());
         voPage.setRecords(convertToListItemVO(resultPage.getRecords()));
 
         return voPage;
     }
 
-    @Override
-    public Page<ArticleListItemVO> getAdminArticleList(Integer page, Integer size, Long categoryId,
-                                                        String keyword, Integer status, String sortBy, String sortOrder) {
-        Page<Article> articlePage = new Page<>(page, size);
-
+    private LambdaQueryWrapper<Article> adminListFilter(Long categoryId, String keyword, Integer status) {
         LambdaQueryWrapper<Article> wrapper = new LambdaQueryWrapper<>();
 
         // 管理员可以选择查看特定状态的文章，不传则查看除已删除外的全部文章
@@ -141,98 +413,116 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             wrapper.and(w -> w.like(Article::getTitle, keyword)
                     .or().like(Article::getSummary, keyword));
         }
+        return wrapper;
+    }
 
-        // 排序 - 使用安全的方式，避免 SQL 注入
-        if (StrUtil.isNotBlank(sortBy)) {
-            boolean isAsc = "asc".equalsIgnoreCase(sortOrder);
-            switch (sortBy) {
-                case "createTime" -> wrapper.orderBy(true, isAsc, Article::getCreateTime);
-                case "viewCount" -> wrapper.orderBy(true, isAsc, Article::getViewCount);
-                default -> wrapper.orderBy(true, isAsc, Article::getPublishTime);
+    /**
+     * 管理后台文章总数
+     * 按筛选条件缓存，翻页时不再重复 COUNT；文章变更后版本号失效；exactCount 为 true 时查询数据库并刷新缓存
+     */
+    private long countAdminArticles(Long categoryId, String keyword, Integer status, boolean exactCount) {
+        String filter = status + ":" + categoryId + ":" + (StrUtil.isBlank(keyword) ? "" : SecureUtil.md5(keyword));
+        String cacheKey = cacheService.versionedKey(CACHE_ARTICLE_COUNT, filter);
+        // 要求精确值时始终查询数据库（位图索引可能落后于其他节点最多一个同步周期）
+        if (exactCount) {
+            long total = count(adminListFilter(categoryId, keyword, status));
+            cacheService.set(cacheKey, total, TTL_COUNT);
+            return total;
+        }
+        // 无关键词时由位图索引计数，不查询数据库
+        if (StrUtil.isBlank(keyword)) {
+            RoaringBitmap matched = articleFilterIndex.match(status, categoryId, null, false);
+            if (matched != null) {
+                return matched.getLongCardinality();
             }
-        } else {
-            wrapper.orderByDesc(true, Article::getCreateTime);
         }
-
-        Page<Article> resultPage = page(articlePage, wrapper);
-
-        // 转换为 VO - 手动设置总数，解决 MyBatis-Plus 分页计数问题
-        Page<ArticleListItemVO> voPage = new Page<>(resultPage.getCurrent(), resultPage.getSize());
-        // 使用 count 查询获取总数
-        Long total = count(wrapper);
-        voPage.setTotal(total);
-        voPage.setRecords(convertToListItemVO(resultPage.getRecords()));
-
-        return voPage;
+        Long total = cacheService.getOrLoad(cacheKey, Long.class, TTL_COUNT,
+            () -> count(adminListFilter(categoryId, keyword, status)));
+        return total == null ? 0 : total;
     }
 
     @Override
     public ArticleVO getArticleDetail(Long id) {
-        String cacheKey = CACHE_ARTICLE_DETAIL + id;
+        // 布隆过滤器拦截不存在的 ID，不查询缓存和数据库
+        if (!articleIdFilter.mightExist(id)) {
+            throw new ResourceNotFoundException("文章", id);
+        }
 
-        // 使用缓存击穿保护的方法获取文章详情
-        ArticleVO vo = cacheService.getOrLoad(cacheKey, ArticleVO.class, TTL_DETAIL, () -> {
-            Article article = getById(id);
-            if (article == null) {
-                throw new ResourceNotFoundException("文章", id);
-            }
+        ArticleVO cached = loadCachedDetail(id);
+        if (cached == null) {
+            throw new ResourceNotFoundException("文章", id);
+        }
 
-            // 只检查已删除的文章（status=2），允许访问草稿（status=0）和已发布（status=1）
-            if (article.getStatus() == 2) {
-                throw new ResourceNotFoundException("文章", id);
-            }
+        // 缓存中的对象可能被其他请求共享，复制后再设置实时浏览量
+        ArticleVO vo = VoConverter.copyOf(cached);
 
-            ArticleVO result = BeanUtil.copyProperties(article, ArticleVO.class);
+        // 使用 ViewCountService 增加浏览量（仅已发布文章）
+        // 实时浏览量 = 已持久化的浏览量 + 尚未同步的增量，不查询数据库
+        if (Integer.valueOf(1).equals(cached.getStatus())) {
+            long pending = viewCountService.incrementViewCount(id);
+            vo.setViewCount((int) (viewCountService.getPersistedViewCount(id) + pending));
+        }
 
-            // 填充作者信息
-            if (article.getAuthorId() != null) {
-                User author = userService.getById(article.getAuthorId());
-                if (author != null) {
-                    UserVO authorVO = new UserVO();
-                    BeanUtil.copyProperties(author, authorVO);
-                    result.setAuthor(authorVO);
-                }
-            }
+        return vo;
+    }
 
-            // 填充分类信息
-            if (article.getCategoryId() != null) {
-                Category category = categoryService.getById(article.getCategoryId());
-                if (category != null) {
-                    CategoryVO categoryVO = new CategoryVO();
-                    BeanUtil.copyProperties(category, categoryVO);
-                    result.setCategory(categoryVO);
-                }
-            }
+    @Override
+    public void warmUpArticleDetail(Long id) {
+        loadCachedDetail(id);
+    }
 
-            // 填充标签信息
-            if (article.getId() != null) {
-                List<ArticleTag> articleTags = articleTagService.list(
-                    new LambdaQueryWrapper<ArticleTag>().eq(ArticleTag::getArticleId, article.getId())
-                );
-                if (!articleTags.isEmpty()) {
-                    List<Long> tagIds = articleTags.stream()
-                        .map(ArticleTag::getTagId)
-                        .collect(Collectors.toList());
-                    List<Tag> tags = tagService.listByIds(tagIds);
-                    List<TagVO> tagVOs = tags.stream().map(tag -> {
-                        TagVO tagVO = new TagVO();
-                        BeanUtil.copyProperties(tag, tagVO);
-                        return tagVO;
-                    }).collect(Collectors.toList());
-                    result.setTags(tagVOs);
-                }
-            }
+    /**
+     * 从缓存读取文章详情，未命中时加载，文章不存在或已删除时返回 null
+     */
+    private ArticleVO loadCachedDetail(Long id) {
+        String cacheKey = CACHE_ARTICLE_DETAIL + id;
 
-            return result;
-        });
+        // 使用缓存击穿保护的方法获取文章详情（过期后先返回旧值，后台刷新）
+        // 文章不存在时 loader 返回 null，由缓存服务缓存空值标记
+        ArticleVO cached = cacheService.getOrLoad(cacheKey, ArticleVO.class, TTL_DETAIL, TTL_DETAIL_HARD,
+            () -> loadDetail(id));
+        // 早期写入的条目不含 status，无法判断是否计入浏览量，删除后重新加载一次
+        if (cached != null && cached.getStatus() == null) {
+            cacheService.delete(cacheKey);
+            cached = cacheService.getOrLoad(cacheKey, ArticleVO.class, TTL_DETAIL, TTL_DETAIL_HARD,
+                () -> loadDetail(id));
+        }
+        return cached;
+    }
 
-        // 使用 ViewCountService 增加浏览量（仅已发布文章）
-        Article article = getById(id);
-        if (article != null && article.getStatus() == 1) {
-            viewCountService.incrementViewCount(id);
+    /**
+     * 查询文章详情，文章不存在或已删除时返回 null
+     */
+    private ArticleVO loadDetail(Long id) {
+        // 文章与标签关联并行查询
+        ParallelQuery.Pair<Article, List<ArticleTag>> loaded = parallelQuery.both(
+            () -> getById(id),
+            () -> articleTagService.list(new LambdaQueryWrapper<ArticleTag>().eq(ArticleTag::getArticleId, id)));
+        Article article = loaded.first();
+
+        // 只检查已删除的文章（status=2），允许访问草稿（status=0）和已发布（status=1）
+        if (article == null || article.getStatus() == 2) {
+            return null;
         }
 
-        return vo;
+        ArticleVO result = VoConverter.toArticleVO(article);
+        DictionaryService.Snapshot dictionary = dictionaryService.snapshot();
+
+        // 填充作者、分类信息（来自字典快照）
+        result.setAuthor(dictionary.users().get(article.getAuthorId()));
+        result.setCategory(dictionary.categories().get(article.getCategoryId()));
+
+        // 填充标签信息
+        List<ArticleTag> articleTags = loaded.second();
+        if (!articleTags.isEmpty()) {
+            List<TagVO> tagVOs = articleTags.stream()
+                .map(at -> dictionary.tags().get(at.getTagId()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            result.setTags(tagVOs);
+        }
+
+        return result;
     }
 
     @Override
@@ -261,6 +551,15 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             articleTagService.saveBatch(articleTags);
         }
 
+        // 同一事务中写入列表读模型
+        articleSummaryService.refresh(article.getId());
+
+        // 提交后加入布隆过滤器（并广播给其他节点），并清除该 ID 可能存在的空值缓存及列表缓存
+        articleIdFilter.add(article.getId());
+        eventPublisher.publishEvent(new ArticleChangedEvent(this, article.getId()));
+        clearArticleCache(article.getId(), Collections.singleton(article.getCategoryId()),
+            articleDTO.getTagIds() != null ? articleDTO.getTagIds() : Collections.emptyList());
+
         return article;
     }
 
@@ -272,12 +571,23 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new ResourceNotFoundException("文章", id);
         }
 
+        // 变更前后的分类、标签对应的列表缓存都需要失效
+        Set<Long> affectedCategoryIds = new HashSet<>();
+        affectedCategoryIds.add(article.getCategoryId());
+        affectedCategoryIds.add(articleDTO.getCategoryId());
+        Set<Long> affectedTagIds = new HashSet<>(getTagIds(id));
+        if (articleDTO.getTagIds() != null) {
+            affectedTagIds.addAll(articleDTO.getTagIds());
+        }
+
         BeanUtil.copyProperties(articleDTO, article);
 
         if (articleDTO.getStatus() == 1 && article.getPublishTime() == null) {
             article.setPublishTime(LocalDateTime.now());
         }
 
+        // 置空后由自动填充刷新更新时间（非空时不会覆盖），搜索索引按更新时间判断文章是否变化
+        article.setUpdateTime(null);
         updateById(article);
 
         // 处理文章标签关联：先删除旧的，再添加新的
@@ -293,59 +603,70 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             }).collect(Collectors.toList());
             articleTagService.saveBatch(articleTags);
         }
+        articleSummaryService.refresh(id);
 
         // 清除文章缓存
-        clearArticleCache(id);
+        eventPublisher.publishEvent(new ArticleChangedEvent(this, id));
+        clearArticleCache(id, affectedCategoryIds, affectedTagIds);
 
         return article;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteArticle(Long id) {
         Article article = getById(id);
         if (article != null) {
             article.setStatus(2); // 标记为已删除
+            article.setUpdateTime(null);
             updateById(article);
+            articleSummaryService.refresh(id);
 
             // 清除文章缓存
-            clearArticleCache(id);
+            eventPublisher.publishEvent(new ArticleChangedEvent(this, id));
+            clearArticleCache(id, Collections.singleton(article.getCategoryId()), getTagIds(id));
         }
     }
 
     @Override
     public List<ArticleListItemVO> getHotArticles(Integer limit) {
-        String cacheKey = CACHE_ARTICLE_HOT + ":" + limit;
-
-        // 使用缓存击穿保护的方法获取热门文章
-        return cacheService.getOrLoadList(cacheKey, ArticleListItemVO.class, TTL_HOT, () -> {
-            // 使用 Page 对象实现 LIMIT，避免 SQL 注入
-            Page<Article> page = new Page<>(1, limit);
-            List<Article> articles = page(page, new LambdaQueryWrapper<Article>()
-                    .eq(Article::getStatus, 1)
-                    .orderByDesc(Article::getViewCount))
-                    .getRecords();
-            return convertToListItemVO(articles);
-        });
+        // 内存快照（随文章变更原位更新、每 10 秒按热度排名重新生成），未就绪时才查询
+        List<ArticleListItemVO> snapshot = homepageSnapshotService.hot(limit);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        String cacheKey = cacheService.versionedKey(CACHE_ARTICLE_HOT, limit);
+
+        // 使用缓存击穿保护的方法获取热门文章（过期后先返回旧值，后台刷新）
+        return cacheService.getOrLoadList(cacheKey, ArticleListItemVO.class, TTL_HOT, TTL_HOT_HARD,
+            () -> articleSummaryService.toListItemVO(homepageSnapshotService.queryHot(limit)));
     }
 
     @Override
     public List<ArticleListItemVO> getLatestArticles(Integer limit) {
-        String cacheKey = CACHE_ARTICLE_LATEST + ":" + limit;
+        // 内存快照（随文章发布、下线、编辑原位更新），未就绪时才查询
+        List<ArticleListItemVO> snapshot = homepageSnapshotService.latest(limit);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        String cacheKey = cacheService.versionedKey(CACHE_ARTICLE_LATEST, limit);
 
         // 使用缓存击穿保护的方法获取最新文章
-        return cacheService.getOrLoadList(cacheKey, ArticleListItemVO.class, TTL_LATEST, () -> {
-            // 使用 Page 对象实现 LIMIT，避免 SQL 注入
-            Page<Article> page = new Page<>(1, limit);
-            List<Article> articles = page(page, new LambdaQueryWrapper<Article>()
-                    .eq(Article::getStatus, 1)
-                    .orderByDesc(Article::getPublishTime))
-                    .getRecords();
-            return convertToListItemVO(articles);
-        });
+        return cacheService.getOrLoadList(cacheKey, ArticleListItemVO.class, TTL_LATEST,
+            () -> articleSummaryService.toListItemVO(homepageSnapshotService.queryLatest(limit)));
     }
 
     @Override
     public List<ArticleListItemVO> getRelatedArticles(Long articleId, Integer limit) {
+        // 预先计算的相关文章（共同标签按稀有程度加权，并按发布时间加权），只按主键查询文章
+        List<Long> relatedIds = relatedArticleIndex.get(articleId, limit);
+        if (relatedIds != null) {
+            return articleSummaryService.toListItemVO(articleSummaryService.listPublishedByIds(relatedIds));
+        }
+
+        // 索引未就绪时按共同标签数查询
         // 获取当前文章的标签
         List<ArticleTag> currentArticleTags = articleTagService.list(
             new LambdaQueryWrapper<ArticleTag>().eq(ArticleTag::getArticleId, articleId)
@@ -385,138 +706,88 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             return new ArrayList<>();
         }
 
-        // 查询文章详情
-        List<Article> relatedArticles = list(
-            new LambdaQueryWrapper<Article>()
-                .in(Article::getId, relatedArticleIds)
-                .eq(Article::getStatus, 1)
-        );
-
         // 按共同标签数排序返回
-        Map<Long, Article> articleMap = relatedArticles.stream()
-            .collect(Collectors.toMap(Article::getId, Function.identity()));
-
-        List<Article> sortedArticles = relatedArticleIds.stream()
-            .map(articleMap::get)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
-
-        return convertToListItemVO(sortedArticles);
+        return articleSummaryService.toListItemVO(articleSummaryService.listPublishedByIds(relatedArticleIds));
     }
 
+    /**
+     * 组装列表项 VO
+     * 先批量读取列表项缓存（一次往返），只为未命中的文章查询作者、分类、标签；
+     * 浏览量、状态、置顶以当前查询到的文章为准
+     */
     private List<ArticleListItemVO> convertToListItemVO(List<Article> articles) {
         if (articles.isEmpty()) {
             return new ArrayList<>();
         }
 
-        List<ArticleListItemVO> list = new ArrayList<>();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-        // 批量收集所有需要查询的 ID
-        List<Long> authorIds = articles.stream()
-            .map(Article::getAuthorId)
-            .filter(id -> id != null)
-            .distinct()
+        List<String> keys = articles.stream()
+            .map(article -> CACHE_ARTICLE_ITEM + article.getId())
             .collect(Collectors.toList());
+        CacheBatchResult<ArticleListItemVO> cached = cacheService.getAll(keys, ArticleListItemVO.class);
+
+        Map<String, ArticleListItemVO> loaded = new HashMap<>();
+        if (!cached.isComplete()) {
+            List<Article> missingArticles = articles.stream()
+                .filter(article -> cached.get(CACHE_ARTICLE_ITEM + article.getId()) == null)
+                .collect(Collectors.toList());
+            for (ArticleListItemVO vo : buildListItemVO(missingArticles)) {
+                loaded.put(CACHE_ARTICLE_ITEM + vo.getId(), vo);
+            }
+            cacheService.setAll(loaded, TTL_ITEM);
+        }
 
-        List<Long> categoryIds = articles.stream()
-            .map(Article::getCategoryId)
-            .filter(id -> id != null)
-            .distinct()
-            .collect(Collectors.toList());
+        List<ArticleListItemVO> list = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            String key = CACHE_ARTICLE_ITEM + article.getId();
+            ArticleListItemVO vo = loaded.get(key);
+            if (vo == null) {
+                // 缓存中的对象可能被其他请求共享，复制后再覆盖易变字段
+                vo = VoConverter.copyOf(cached.get(key));
+                vo.setViewCount(article.getViewCount());
+                vo.setStatus(article.getStatus());
+                vo.setTop(article.getTop());
+            }
+            list.add(vo);
+        }
+        return list;
+    }
+
+    private List<ArticleListItemVO> buildListItemVO(List<Article> articles) {
+
+        List<ArticleListItemVO> list = new ArrayList<>(articles.size());
 
         List<Long> articleIds = articles.stream()
             .map(Article::getId)
             .filter(id -> id != null)
             .collect(Collectors.toList());
 
-        // 批量查询作者、分类、标签
-        Map<Long, User> authorMap = new HashMap<>();
-        if (!authorIds.isEmpty()) {
-            authorMap = userService.listByIds(authorIds).stream()
-                .collect(Collectors.toMap(User::getId, Function.identity()));
-        }
-
-        Map<Long, Category> categoryMap = new HashMap<>();
-        if (!categoryIds.isEmpty()) {
-            categoryMap = categoryService.listByIds(categoryIds).stream()
-                .collect(Collectors.toMap(Category::getId, Function.identity()));
-        }
-
-        // 批量查询文章标签关联和标签
+        // 作者、分类、标签来自字典快照，只需查询文章标签关联
+        DictionaryService.Snapshot dictionary = dictionaryService.snapshot();
         Map<Long, List<TagVO>> articleTagMap = new HashMap<>();
         if (!articleIds.isEmpty()) {
-            // 查询所有文章的标签关联
-            List<ArticleTag> allArticleTags = articleTagService.list(
-                new LambdaQueryWrapper<ArticleTag>().in(ArticleTag::getArticleId, articleIds)
-            );
-
-            if (!allArticleTags.isEmpty()) {
-                // 收集所有标签 ID
-                List<Long> tagIds = allArticleTags.stream()
-                    .map(ArticleTag::getTagId)
-                    .distinct()
-                    .collect(Collectors.toList());
-
-                // 批量查询标签
-                Map<Long, Tag> tagMap = tagService.listByIds(tagIds).stream()
-                    .collect(Collectors.toMap(Tag::getId, Function.identity()));
-
-                // 按文章 ID 分组标签
-                allArticleTags.stream()
-                    .collect(Collectors.groupingBy(ArticleTag::getArticleId))
-                    .forEach((articleId, articleTags) -> {
-                        List<TagVO> tagVOs = articleTags.stream()
-                            .map(at -> tagMap.get(at.getTagId()))
-                            .filter(tag -> tag != null)
-                            .map(tag -> {
-                                TagVO tagVO = new TagVO();
-                                BeanUtil.copyProperties(tag, tagVO);
-                                return tagVO;
-                            })
-                            .collect(Collectors.toList());
-                        articleTagMap.put(articleId, tagVOs);
-                    });
-            }
+            articleTagService.list(new LambdaQueryWrapper<ArticleTag>().in(ArticleTag::getArticleId, articleIds))
+                .stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId))
+                .forEach((articleId, articleTags) -> {
+                    List<TagVO> tagVOs = articleTags.stream()
+                        .map(at -> dictionary.tags().get(at.getTagId()))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+                    articleTagMap.put(articleId, tagVOs);
+                });
         }
 
         // 组装 VO
         for (Article article : articles) {
-            ArticleListItemVO vo = BeanUtil.copyProperties(article, ArticleListItemVO.class);
-
-            // 设置时间格式化
-            if (article.getCreateTime() != null) {
-                vo.setCreateTime(article.getCreateTime().format(formatter));
-            }
-            if (article.getPublishTime() != null) {
-                vo.setPublishTime(article.getPublishTime().format(formatter));
-            }
+            ArticleListItemVO vo = VoConverter.toListItemVO(article);
 
             // 填充作者信息
-            if (article.getAuthorId() != null) {
-                User author = authorMap.get(article.getAuthorId());
-                if (author != null) {
-                    UserVO authorVO = new UserVO();
-                    BeanUtil.copyProperties(author, authorVO);
-                    vo.setAuthor(authorVO);
-                }
-            }
-            if (vo.getAuthor() == null) {
-                vo.setAuthor(new UserVO());
-            }
+            UserVO author = dictionary.users().get(article.getAuthorId());
+            vo.setAuthor(author != null ? author : new UserVO());
 
             // 填充分类信息
-            if (article.getCategoryId() != null) {
-                Category category = categoryMap.get(article.getCategoryId());
-                if (category != null) {
-                    CategoryVO categoryVO = new CategoryVO();
-                    BeanUtil.copyProperties(category, categoryVO);
-                    vo.setCategory(categoryVO);
-                }
-            }
-            if (vo.getCategory() == null) {
-                vo.setCategory(new CategoryVO());
-            }
+            CategoryVO category = dictionary.categories().get(article.getCategoryId());
+            vo.setCategory(category != null ? category : new CategoryVO());
 
             // 填充标签信息
             vo.setTags(articleTagMap.getOrDefault(article.getId(), new ArrayList<>()));
@@ -535,17 +806,91 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         };
     }
 
+    private List<Long> getTagIds(Long articleId) {
+        return articleTagService.list(new LambdaQueryWrapper<ArticleTag>()
+                .select(ArticleTag::getTagId)
+                .eq(ArticleTag::getArticleId, articleId))
+            .stream()
+            .map(ArticleTag::getTagId)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 事务提交后清除文章相关缓存（无事务时直接清除）
+     * 提交前清除时，并发读取可能把未提交前的旧数据重新写入缓存；调用方应在发布 ArticleChangedEvent 之后调用，
+     * 使清除排在各内存索引更新之后，新缓存按更新后的索引生成
+     *
+     * @param categoryIds 受影响的分类（变更前后）
+     * @param tagIds      受影响的标签（变更前后）
+     */
+    private void clearArticleCache(Long articleId, Collection<Long> categoryIds, Collection<Long> tagIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictArticleCache(Collections.singleton(articleId), categoryIds, tagIds);
+                }
+            });
+        } else {
+            evictArticleCache(Collections.singleton(articleId), categoryIds, tagIds);
+        }
+    }
+
     /**
-     * 清除文章相关缓存
+     * 分类、标签改名或删除提交后，清除冗余了其名称的文章详情及所在列表的缓存
      */
-    private void clearArticleCache(Long articleId) {
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaxonomyChanged(TaxonomyChangedEvent event) {
+        Set<Long> articleIds = new HashSet<>(event.getArticleIds());
+        if (event.getCategoryId() != null) {
+            list(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId)
+                    .eq(Article::getCategoryId, event.getCategoryId()))
+                .forEach(article -> articleIds.add(article.getId()));
+        }
+
+        // 受影响文章所在的分类、标签列表同样包含这些文章
+        Set<Long> categoryIds = new HashSet<>();
+        Set<Long> tagIds = new HashSet<>();
+        if (!articleIds.isEmpty()) {
+            list(new LambdaQueryWrapper<Article>()
+                    .select(Article::getId, Article::getCategoryId)
+                    .in(Article::getId, articleIds))
+                .forEach(article -> categoryIds.add(article.getCategoryId()));
+            articleTagService.list(new LambdaQueryWrapper<ArticleTag>()
+                    .select(ArticleTag::getTagId)
+                    .in(ArticleTag::getArticleId, articleIds))
+                .forEach(articleTag -> tagIds.add(articleTag.getTagId()));
+        }
+        categoryIds.add(event.getCategoryId());
+        tagIds.add(event.getTagId());
+        evictArticleCache(articleIds, categoryIds, tagIds);
+    }
+
+    private void evictArticleCache(Collection<Long> articleIds, Collection<Long> categoryIds,
+                                   Collection<Long> tagIds) {
         // 清除文章详情缓存
-        cacheService.delete(CACHE_ARTICLE_DETAIL + articleId);
+        for (Long articleId : articleIds) {
+            cacheService.delete(CACHE_ARTICLE_DETAIL + articleId);
+            cacheService.delete(CACHE_ARTICLE_ITEM + articleId);
+        }
+
+        // 管理后台文章总数
+        cacheService.bumpGeneration(CACHE_ARTICLE_COUNT);
+
+        // 列表分页缓存：全部文章及受影响的分类、标签
+        cacheService.bumpGeneration(CACHE_ARTICLE_PAGE + "all");
+        categoryIds.stream().filter(Objects::nonNull)
+            .forEach(categoryId -> cacheService.bumpGeneration(CACHE_ARTICLE_PAGE + "cat:" + categoryId));
+        tagIds.stream().filter(Objects::nonNull)
+            .forEach(tagId -> cacheService.bumpGeneration(CACHE_ARTICLE_PAGE + "tag:" + tagId));
 
-        // 清除热门文章缓存（使用通配符删除所有热门文章缓存）
-        cacheService.deleteByPattern(CACHE_ARTICLE_HOT + "*");
+        // 热门/最新文章缓存按版本号失效（不同 limit 的 key 一次全部失效，无需扫描键空间）
+        cacheService.bumpGeneration(CACHE_ARTICLE_HOT);
+        cacheService.bumpGeneration(CACHE_ARTICLE_LATEST);
 
-        // 清除最新文章缓存（使用通配符删除所有最新文章缓存）
-        cacheService.deleteByPattern(CACHE_ARTICLE_LATEST + "*");
+        // 分类/标签列表中的文章数量
+        categoryService.evictListCache();
+        tagService.evictListCache();
     }
 }
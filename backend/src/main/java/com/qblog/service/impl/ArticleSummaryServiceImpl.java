@@ -0,0 +1,287 @@
+package com.qblog.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qblog.entity.Article;
+import com.qblog.entity.ArticleSummary;
+import com.qblog.entity.ArticleTag;
+import com.qblog.entity.Category;
+import com.qblog.entity.Tag;
+import com.qblog.entity.User;
+import com.qblog.event.DataRestoredEvent;
+import com.qblog.mapper.ArticleMapper;
+import com.qblog.mapper.ArticleSummaryMapper;
+import com.qblog.mapper.ArticleTagMapper;
+import com.qblog.mapper.CategoryMapper;
+import com.qblog.mapper.TagMapper;
+import com.qblog.mapper.UserMapper;
+import com.qblog.model.vo.ArticleListItemVO;
+import com.qblog.model.vo.CategoryVO;
+import com.qblog.model.vo.TagVO;
+import com.qblog.model.vo.UserVO;
+import com.qblog.service.ArticleSummaryService;
+import com.qblog.util.VoConverter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 文章列表读模型服务实现
+ * 只依赖 Mapper，避免与文章、分类、标签服务循环依赖
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ArticleSummaryServiceImpl extends ServiceImpl<ArticleSummaryMapper, ArticleSummary>
+        implements ArticleSummaryService {
+
+    // 全量重建时每批处理的文章数
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<List<TagVO>> TAG_LIST_TYPE = new TypeReference<>() {
+    };
+
+    private final ArticleMapper articleMapper;
+    private final ArticleTagMapper articleTagMapper;
+    private final TagMapper tagMapper;
+    private final CategoryMapper categoryMapper;
+    private final UserMapper userMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 启动时行数与未删除的文章数不一致（首次部署、迁移后）则全量重建
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            long articleCount = articleMapper.selectCount(new LambdaQueryWrapper<Article>().ne(Article::getStatus, 2));
+            long summaryCount = count();
+            if (articleCount != summaryCount) {
+                log.info("Article summary out of sync (articles: {}, summaries: {}), rebuilding",
+                    articleCount, summaryCount);
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Failed to check article summary", e);
+        }
+    }
+
+    /**
+     * 数据恢复后重建
+     */
+    @EventListener(DataRestoredEvent.class)
+    public void onDataRestored() {
+        rebuild();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void refresh(Long articleId) {
+        refresh(Collections.singletonList(articleId));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void refresh(Collection<Long> articleIds) {
+        List<Long> ids = articleIds.stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Article> articles = articleMapper.selectListItemsByIds(ids).stream()
+            .filter(article -> !Objects.equals(article.getStatus(), 2))
+            .collect(Collectors.toList());
+        baseMapper.deleteBatchIds(ids);
+        if (!articles.isEmpty()) {
+            saveBatch(build(articles));
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void refreshCategory(Long categoryId) {
+        Category category = categoryMapper.selectById(categoryId);
+        baseMapper.updateCategoryName(categoryId, category != null ? category.getName() : null);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void refreshTag(Long tagId) {
+        refresh(articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                .select(ArticleTag::getArticleId)
+                .eq(ArticleTag::getTagId, tagId))
+            .stream()
+            .map(ArticleTag::getArticleId)
+            .collect(Collectors.toList()));
+    }
+
+    /**
+     * 按批替换，每批在各自的事务中先删后插；不在一个大事务中执行，避免长时间持有锁
+     * 内部调用不经过代理，@Transactional 不生效，由 TransactionTemplate 开启事务
+     */
+    @Override
+    public void rebuild() {
+        List<Long> ids = articleMapper.selectList(new LambdaQueryWrapper<Article>()
+                .select(Article::getId)
+                .ne(Article::getStatus, 2))
+            .stream()
+            .map(Article::getId)
+            .collect(Collectors.toList());
+        for (List<Long> batch : CollUtil.split(ids, REBUILD_BATCH_SIZE)) {
+            transactionTemplate.executeWithoutResult(status -> refresh(batch));
+        }
+        int removed = baseMapper.deleteOrphans();
+        log.info("Article summary rebuilt, articles: {}, removed: {}", ids.size(), removed);
+    }
+
+    @Override
+    public List<ArticleSummary> listPublishedByIds(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, ArticleSummary> summaryMap = listByIds(ids).stream()
+            .filter(summary -> Objects.equals(summary.getStatus(), 1))
+            .collect(Collectors.toMap(ArticleSummary::getId, Function.identity()));
+        return ids.stream().map(summaryMap::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ArticleListItemVO> toListItemVO(List<ArticleSummary> summaries) {
+        List<ArticleListItemVO> list = new ArrayList<>(summaries.size());
+        for (ArticleSummary summary : summaries) {
+            ArticleListItemVO vo = new ArticleListItemVO();
+            vo.setId(summary.getId());
+            vo.setTitle(summary.getTitle());
+            vo.setSummary(summary.getSummary());
+            vo.setCoverImage(summary.getCoverImage());
+            vo.setViewCount(summary.getViewCount());
+            vo.setStatus(summary.getStatus());
+            vo.setTop(summary.getTop());
+            vo.setCreateTime(VoConverter.format(summary.getCreateTime()));
+            vo.setPublishTime(VoConverter.format(summary.getPublishTime()));
+
+            UserVO author = new UserVO();
+            if (summary.getAuthorId() != null) {
+                author.setId(summary.getAuthorId());
+                author.setNickname(summary.getAuthorNickname());
+                author.setAvatar(summary.getAuthorAvatar());
+            }
+            vo.setAuthor(author);
+
+            // 分类已删除时与之前一致，返回空对象
+            CategoryVO category = new CategoryVO();
+            if (summary.getCategoryName() != null) {
+                category.setId(summary.getCategoryId());
+                category.setName(summary.getCategoryName());
+            }
+            vo.setCategory(category);
+
+            vo.setTags(parseTags(summary));
+            list.add(vo);
+        }
+        return list;
+    }
+
+    /**
+     * 由文章行组装读模型：作者、分类、标签各一次批量查询
+     */
+    private List<ArticleSummary> build(List<Article> articles) {
+        List<Long> articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
+        Map<Long, User> users = selectByIds(userMapper::selectBatchIds, User::getId,
+            articles.stream().map(Article::getAuthorId));
+        Map<Long, Category> categories = selectByIds(categoryMapper::selectBatchIds, Category::getId,
+            articles.stream().map(Article::getCategoryId));
+
+        Map<Long, List<Long>> articleTagIds = articleTagMapper.selectList(new LambdaQueryWrapper<ArticleTag>()
+                .in(ArticleTag::getArticleId, articleIds)
+                .orderByAsc(ArticleTag::getId))
+            .stream()
+            .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        Map<Long, Tag> tags = selectByIds(tagMapper::selectBatchIds, Tag::getId,
+            articleTagIds.values().stream().flatMap(List::stream));
+
+        List<ArticleSummary> summaries = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            ArticleSummary summary = new ArticleSummary();
+            summary.setId(article.getId());
+            summary.setTitle(article.getTitle());
+            summary.setSummary(article.getSummary());
+            summary.setCoverImage(article.getCoverImage());
+            summary.setAuthorId(article.getAuthorId());
+            User author = users.get(article.getAuthorId());
+            if (author != null) {
+                summary.setAuthorNickname(author.getNickname());
+                summary.setAuthorAvatar(author.getAvatar());
+            }
+            summary.setCategoryId(article.getCategoryId());
+            Category category = categories.get(article.getCategoryId());
+            if (category != null) {
+                summary.setCategoryName(category.getName());
+            }
+            List<Map<String, Object>> articleTags = articleTagIds.getOrDefault(article.getId(),
+                    Collections.emptyList()).stream()
+                .map(tags::get)
+                .filter(Objects::nonNull)
+                .map(tag -> Map.<String, Object>of("id", tag.getId(), "name", tag.getName()))
+                .collect(Collectors.toList());
+            summary.setTags(writeTags(articleTags));
+            summary.setViewCount(article.getViewCount());
+            summary.setStatus(article.getStatus());
+            summary.setTop(article.getTop());
+            summary.setPublishTime(article.getPublishTime());
+            summary.setCreateTime(article.getCreateTime());
+            summary.setUpdateTime(article.getUpdateTime());
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    private static <T> Map<Long, T> selectByIds(Function<Collection<Long>, List<T>> loader,
+                                                Function<T, Long> idGetter,
+                                                Stream<Long> ids) {
+        List<Long> distinctIds = ids.filter(Objects::nonNull).distinct().collect(Collectors.toList());
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return loader.apply(distinctIds).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+    }
+
+    private static String writeTags(List<Map<String, Object>> tags) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(tags);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize article tags", e);
+        }
+    }
+
+    private static List<TagVO> parseTags(ArticleSummary summary) {
+        if (summary.getTags() == null || summary.getTags().isEmpty()) {
+            return new ArrayList<>();
+        }
+        try {
+            return OBJECT_MAPPER.readValue(summary.getTags(), TAG_LIST_TYPE);
+        } catch (JsonProcessingException e) {
+            log.warn("Invalid tags in article summary {}", summary.getId(), e);
+            return new ArrayList<>();
+        }
+    }
+}
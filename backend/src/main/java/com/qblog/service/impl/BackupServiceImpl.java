@@ -1,5 +1,6 @@
 package com.qblog.service.impl;
 
+import com.qblog.event.DataRestoredEvent;
 import com.qblog.mapper.ArticleMapper;
 import com.qblog.mapper.ArticleTagMapper;
 import com.qblog.mapper.CategoryMapper;
@@ -13,6 +14,7 @@ import com.qblog.util.JsonBackupExporter;
 import com.qblog.util.JsonBackupImporter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -53,6 +55,7 @@ public class BackupServiceImpl implements BackupService {
     private final TagMapper tagMapper;
     private final ArticleMapper articleMapper;
     private final ArticleTagMapper articleTagMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     private Path backupDirPath;
     private Path settingsFilePath;
@@ -62,12 +65,14 @@ public class BackupServiceImpl implements BackupService {
                              CategoryMapper categoryMapper,
                              TagMapper tagMapper,
                              ArticleMapper articleMapper,
-                             ArticleTagMapper articleTagMapper) {
+                             ArticleTagMapper articleTagMapper,
+                             ApplicationEventPublisher eventPublisher) {
         this.userMapper = userMapper;
         this.categoryMapper = categoryMapper;
         this.tagMapper = tagMapper;
         this.articleMapper = articleMapper;
         this.articleTagMapper = articleTagMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostConstruct
@@ -298,6 +303,7 @@ public class BackupServiceImpl implements BackupService {
                 userMapper, categoryMapper, tagMapper, articleMapper, articleTagMapper
             );
             Map<String, Integer> counts = importer.importBackup(backupPath);
+            eventPublisher.publishEvent(new DataRestoredEvent(this));
 
             log.info("备份恢复完成：{}, 导入记录数：{}", backupId, counts);
         } catch (IOException e) {
@@ -378,6 +384,7 @@ public class BackupServiceImpl implements BackupService {
                 userMapper, categoryMapper, tagMapper, articleMapper, articleTagMapper
             );
             Map<String, Integer> counts = importer.importBackup(targetPath);
+            eventPublisher.publishEvent(new DataRestoredEvent(this));
             log.info("备份导入并恢复完成：{}, 恢复记录数：{}", filename, counts);
 
             return getBackupDetail(BACKUP_PREFIX + timestamp);
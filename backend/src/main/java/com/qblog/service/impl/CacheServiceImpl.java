@@ -1,24 +1,56 @@
 package com.qblog.service.impl;
 
-import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.qblog.common.cache.CacheBatchResult;
+import com.qblog.common.cache.CacheCodecRegistry;
+import com.qblog.common.cache.CacheMetrics;
+import com.qblog.common.cache.NearCache;
+import com.qblog.common.cache.SingleFlight;
+import com.qblog.common.cache.TtlPolicy;
+import com.qblog.config.CacheProperties;
 import com.qblog.service.CacheService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.redis.connection.RedisStringCommands;
 import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
  * Redis 缓存服务实现
  * 仅在 redis.enabled=true 时生效
+ * 两级缓存：L1 为 JVM 内近端缓存（短 TTL），L2 为 Redis
+ * delete / deleteByPattern 通过 Redis 发布订阅广播，各节点收到后清除自己的 L1
+ * 命名空间版本号存于 Redis（gen:{namespace}），本地缓存一份，变更时同样通过发布订阅通知各节点
+ * 缓存值由 CacheCodecRegistry 按 key 前缀选择编码（JSON 或压缩的 Smile 二进制）
+ * 写入的 TTL 带随机抖动，读取时按 XFetch 概率在过期前提前后台刷新
  */
 @Slf4j
 @Service
@@ -27,45 +59,178 @@ import java.util.function.Supplier;
 public class CacheServiceImpl implements CacheService {
 
     private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, byte[]> cacheRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final CacheProperties cacheProperties;
+    private final ThreadPoolTaskExecutor cacheRefreshExecutor;
+    private final CacheMetrics cacheMetrics;
 
     private static final String LOCK_PREFIX = "lock:";
     private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(10);
+    // 其他节点持锁时，等待其写入缓存的最长时间
+    private static final Duration LOCK_WAIT = Duration.ofMillis(500);
+    private static final long LOCK_POLL_MIN_MILLIS = 5;
+    private static final long LOCK_POLL_MAX_MILLIS = 80;
+    // JVM 内等待同 key 加载结果的最长时间
+    private static final Duration LOAD_WAIT = Duration.ofSeconds(3);
+    // 空值标记及空列表的 TTL
+    private static final Duration NULL_TTL = Duration.ofMinutes(1);
+    // 空值标记：loader 返回 null 时缓存，命中后直接返回 null，防止缓存穿透
+    private static final Object NULL_VALUE = new Object();
+    private static final String GENERATION_PREFIX = "gen:";
+    // 版本号本地缓存时间（变更会主动广播，这里只是兜底，防止漏收消息）
+    private static final Duration GENERATION_TTL = Duration.ofSeconds(5);
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    // 正在后台刷新的 key，保证同一 key 同时只有一个刷新任务
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    private CacheCodecRegistry codecs;
+    private TtlPolicy ttlPolicy;
+
+    // L1 近端缓存（未启用时为 null）
+    private NearCache nearCache;
+    private String invalidateChannel;
+
+    // 广播消息监听：消息前缀 -> 监听方
+    private final Map<String, Consumer<String>> broadcastListeners = new ConcurrentHashMap<>();
+
+    // 命名空间版本号的本地副本，避免每次拼接 key 都访问 Redis
+    private final Cache<String, Long> generations = Caffeine.newBuilder()
+            .expireAfterWrite(GENERATION_TTL)
+            .build();
+
+    // L2（Redis）命中统计
+    private final LongAdder redisHits = new LongAdder();
+    private final LongAdder redisMisses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        CacheProperties.Codec codec = cacheProperties.getCodec();
+        codecs = new CacheCodecRegistry(codec.getBinaryPrefixes(), codec.getCompressThreshold());
+        ttlPolicy = new TtlPolicy(cacheProperties.getTtl().getJitterRatio(),
+                cacheProperties.getTtl().getEarlyRefreshBeta());
+
+        CacheProperties.Near near = cacheProperties.getNear();
+        invalidateChannel = near.getChannel();
+        listenerContainer.addMessageListener((message, pattern) ->
+                invalidateLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(invalidateChannel));
+        if (near.isEnabled()) {
+            nearCache = new NearCache(near.getTtl(), near.getMaxSize(), near.getPrefixes());
+            log.info("Near cache enabled, ttl: {}, prefixes: {}", near.getTtl(), near.getPrefixes());
+        }
+    }
 
     @Override
     public <T> T get(String key, Class<T> type) {
+        return unwrap(recordLookup(key, lookup(key, type, data -> codecs.decode(data, type), false)));
+    }
+
+    @Override
+    public <T> List<T> getList(String key, Class<T> elementType) {
+        return unwrap(recordLookup(key, lookup(key, List.class, data -> codecs.decodeList(data, elementType), false)));
+    }
+
+    @Override
+    public <T> void set(String key, T value, Duration ttl) {
+        if (value == null) {
+            return;
+        }
         try {
-            String value = redisTemplate.opsForValue().get(key);
-            if (value == null) {
-                return null;
+            byte[] data = codecs.encode(key, value);
+            Duration jitteredTtl = ttlPolicy.jitter(ttl);
+            cacheRedisTemplate.opsForValue().set(key, data, jitteredTtl.toMillis(), TimeUnit.MILLISECONDS);
+            if (nearCache != null && nearCache.accepts(key)) {
+                nearCache.put(key, value, jitteredTtl);
             }
-            return JSONUtil.toBean(value, type);
         } catch (Exception e) {
-            log.warn("Failed to get cache for key: {}", key, e);
-            return null;
+            log.warn("Failed to set cache for key: {}", key, e);
         }
     }
 
     @Override
-    public <T> List<T> getList(String key, Class<T> elementType) {
+    public <T> CacheBatchResult<T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> hits = new LinkedHashMap<>();
+        List<String> redisKeys = new ArrayList<>();
+        for (String key : keys) {
+            if (nearCache != null && nearCache.accepts(key)) {
+                Object value = nearCache.get(key);
+                if (type.isInstance(value)) {
+                    cacheMetrics.recordHit(key);
+                    hits.put(key, type.cast(value));
+                    continue;
+                }
+            }
+            redisKeys.add(key);
+        }
+
+        List<String> missingKeys = new ArrayList<>();
+        if (redisKeys.isEmpty()) {
+            return new CacheBatchResult<>(hits, missingKeys);
+        }
+
+        List<byte[]> values;
         try {
-            String value = redisTemplate.opsForValue().get(key);
+            values = cacheRedisTemplate.opsForValue().multiGet(redisKeys);
+        } catch (Exception e) {
+            log.warn("Failed to multi-get cache for {} keys", redisKeys.size(), e);
+            values = null;
+        }
+        for (int i = 0; i < redisKeys.size(); i++) {
+            String key = redisKeys.get(i);
+            byte[] data = values == null ? null : values.get(i);
+            if (data == null || codecs.isNullValue(data)) {
+                redisMisses.increment();
+                cacheMetrics.recordMiss(key);
+                missingKeys.add(key);
+                continue;
+            }
+            redisHits.increment();
+            T value = decodeQuietly(key, () -> codecs.decode(data, type));
             if (value == null) {
-                return null;
+                cacheMetrics.recordMiss(key);
+                missingKeys.add(key);
+                continue;
             }
-            return JSONUtil.toList(value, elementType);
-        } catch (Exception e) {
-            log.warn("Failed to get list cache for key: {}", key, e);
-            return null;
+            cacheMetrics.recordHit(key);
+            if (nearCache != null && nearCache.accepts(key)) {
+                nearCache.put(key, value, cacheProperties.getNear().getTtl());
+            }
+            hits.put(key, value);
         }
+        return new CacheBatchResult<>(hits, missingKeys);
     }
 
     @Override
-    public <T> void set(String key, T value, Duration ttl) {
+    public <T> void setAll(Map<String, T> entries, Duration ttl) {
+        Map<byte[], byte[]> encoded = new LinkedHashMap<>();
         try {
-            String json = JSONUtil.toJsonStr(value);
-            redisTemplate.opsForValue().set(key, json, ttl.toMillis(), TimeUnit.MILLISECONDS);
+            entries.forEach((key, value) -> {
+                if (value != null) {
+                    encoded.put(key.getBytes(StandardCharsets.UTF_8), codecs.encode(key, value));
+                }
+            });
+            if (encoded.isEmpty()) {
+                return;
+            }
+            cacheRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                encoded.forEach((key, data) -> connection.stringCommands().set(key, data,
+                        Expiration.milliseconds(ttlPolicy.jitter(ttl).toMillis()),
+                        RedisStringCommands.SetOption.upsert()));
+                return null;
+            });
         } catch (Exception e) {
-            log.warn("Failed to set cache for key: {}", key, e);
+            log.warn("Failed to multi-set cache for {} keys", entries.size(), e);
+            return;
+        }
+        if (nearCache != null) {
+            entries.forEach((key, value) -> {
+                if (value != null && nearCache.accepts(key)) {
+                    nearCache.put(key, value, ttl);
+                }
+            });
         }
     }
 
@@ -76,6 +241,7 @@ public class CacheServiceImpl implements CacheService {
         } catch (Exception e) {
             log.warn("Failed to delete cache for key: {}", key, e);
         }
+        broadcastInvalidation(key);
     }
 
     @Override
@@ -103,6 +269,94 @@ public class CacheServiceImpl implements CacheService {
         } catch (Exception e) {
             log.warn("Failed to delete cache by pattern: {}", pattern, e);
         }
+        broadcastInvalidation(pattern);
+    }
+
+    @Override
+    public long getGeneration(String namespace) {
+        Long generation = generations.get(namespace, this::readGeneration);
+        return generation == null ? 0L : generation;
+    }
+
+    private Long readGeneration(String namespace) {
+        try {
+            String value = redisTemplate.opsForValue().get(GENERATION_PREFIX + namespace);
+            return value == null ? 0L : Long.parseLong(value);
+        } catch (Exception e) {
+            // 读取失败不缓存，下次重试
+            log.warn("Failed to read cache generation for namespace: {}", namespace, e);
+            return null;
+        }
+    }
+
+    @Override
+    public void bumpGeneration(String namespace) {
+        String generationKey = GENERATION_PREFIX + namespace;
+        try {
+            Long generation = redisTemplate.opsForValue().increment(generationKey);
+            if (generation != null) {
+                generations.put(namespace, generation);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to bump cache generation for namespace: {}", namespace, e);
+            return;
+        }
+        broadcastInvalidation(generationKey);
+    }
+
+    @Override
+    public void broadcast(String message) {
+        try {
+            redisTemplate.convertAndSend(invalidateChannel, message);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast message: {}", message, e);
+        }
+    }
+
+    @Override
+    public void addBroadcastListener(String prefix, Consumer<String> listener) {
+        broadcastListeners.put(prefix, listener);
+    }
+
+    /**
+     * 清除本节点的 L1 条目或版本号副本；广播消息交给对应的监听方
+     */
+    private void invalidateLocal(String keyOrPattern) {
+        for (Map.Entry<String, Consumer<String>> entry : broadcastListeners.entrySet()) {
+            if (keyOrPattern.startsWith(entry.getKey())) {
+                try {
+                    entry.getValue().accept(keyOrPattern);
+                } catch (Exception e) {
+                    log.warn("Failed to handle broadcast message: {}", keyOrPattern, e);
+                }
+                return;
+            }
+        }
+        if (keyOrPattern.startsWith(GENERATION_PREFIX)) {
+            generations.invalidate(keyOrPattern.substring(GENERATION_PREFIX.length()));
+            return;
+        }
+        if (nearCache != null) {
+            nearCache.invalidate(keyOrPattern);
+        }
+    }
+
+    /**
+     * 清除本节点 L1，并通知其他节点清除
+     */
+    private void broadcastInvalidation(String keyOrPattern) {
+        boolean generationChanged = keyOrPattern.startsWith(GENERATION_PREFIX);
+        if (nearCache == null && !generationChanged) {
+            return;
+        }
+        if (!generationChanged) {
+            nearCache.invalidate(keyOrPattern);
+        }
+        try {
+            redisTemplate.convertAndSend(invalidateChannel, keyOrPattern);
+        } catch (Exception e) {
+            log.warn("Failed to broadcast cache invalidation: {}", keyOrPattern, e);
+        }
     }
 
     @Override
@@ -138,105 +392,310 @@ public class CacheServiceImpl implements CacheService {
 
     @Override
     public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
-        // 先尝试从缓存获取
-        T cached = get(key, type);
+        return load(key, type, data -> codecs.decode(data, type), null, ttl, data -> ttl, loader);
+    }
+
+    @Override
+    public <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration ttl, Supplier<List<T>> loader) {
+        // 空列表使用较短的 TTL 缓存，防止缓存穿透
+        return load(key, List.class, data -> codecs.decodeList(data, elementType), null, ttl,
+                data -> data.isEmpty() ? NULL_TTL : ttl, loader);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, Class<T> type, Duration softTtl, Duration hardTtl, Supplier<T> loader) {
+        return load(key, type, data -> codecs.decode(data, type), softTtl, hardTtl, data -> hardTtl, loader);
+    }
+
+    @Override
+    public <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration softTtl, Duration hardTtl,
+                                     Supplier<List<T>> loader) {
+        return load(key, List.class, data -> codecs.decodeList(data, elementType), softTtl, hardTtl,
+                data -> data.isEmpty() ? NULL_TTL : hardTtl, loader);
+    }
+
+    /**
+     * 读取缓存，未命中时加载
+     * 缓存未命中：JVM 内合并同 key 请求，再由分布式锁保证集群内只有一个节点加载
+     *
+     * @param softTtl 不为 null 时启用 stale-while-revalidate
+     */
+    private <T> T load(String key, Class<?> expectedType, Function<byte[], Object> decoder,
+                       Duration softTtl, Duration hardTtl, Function<T, Duration> ttlResolver, Supplier<T> loader) {
+        CachedValue cached = recordLookup(key, lookup(key, expectedType, decoder, true));
+        if (cached != null) {
+            if (cached.value() != NULL_VALUE && shouldRefresh(key, cached, softTtl)) {
+                submitRefresh(key, ttlResolver, loader);
+            }
+            return unwrap(cached);
+        }
+
+        return singleFlight.execute(key, LOAD_WAIT,
+                () -> loadWithLock(key, () -> lookup(key, expectedType, decoder, false),
+                        () -> cacheMetrics.recordLoad(key, loader), ttlResolver),
+                () -> cacheMetrics.recordLockContention(key));
+    }
+
+    private CachedValue recordLookup(String key, CachedValue cached) {
         if (cached != null) {
-            return cached;
+            cacheMetrics.recordHit(key);
+        } else {
+            cacheMetrics.recordMiss(key);
+        }
+        return cached;
+    }
+
+    /**
+     * 依次读取 L1、L2
+     *
+     * @param withTtl 是否同时读取剩余 TTL（GET + PTTL 管道，一次往返）
+     * @return 未命中返回 null；命中空值标记时 value 为 NULL_VALUE
+     */
+    private CachedValue lookup(String key, Class<?> expectedType, Function<byte[], Object> decoder,
+                               boolean withTtl) {
+        boolean near = nearCache != null && nearCache.accepts(key);
+        if (near) {
+            Object value = nearCache.get(key);
+            if (value == NULL_VALUE || expectedType.isInstance(value)) {
+                return new CachedValue(value, -1, -1);
+            }
+        }
+
+        byte[] data;
+        long remainingMillis = -1;
+        try {
+            if (withTtl) {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                List<Object> results = cacheRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    connection.stringCommands().get(rawKey);
+                    connection.keyCommands().pTtl(rawKey);
+                    return null;
+                });
+                data = (byte[]) results.get(0);
+                Long pttl = (Long) results.get(1);
+                remainingMillis = pttl == null ? -1 : pttl;
+            } else {
+                data = cacheRedisTemplate.opsForValue().get(key);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to get cache for key: {}", key, e);
+            return null;
+        }
+
+        if (data == null) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+
+        Object value = codecs.isNullValue(data) ? NULL_VALUE : decodeQuietly(key, () -> decoder.apply(data));
+        if (value == null) {
+            return null;
+        }
+        if (near) {
+            nearCache.put(key, value, cacheProperties.getNear().getTtl());
+        }
+        return new CachedValue(value, remainingMillis, codecs.writeTime(data));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(CachedValue cached) {
+        return cached == null || cached.value() == NULL_VALUE ? null : (T) cached.value();
+    }
+
+    /**
+     * 写入空值标记（较短 TTL），防止不存在的数据反复穿透到数据库
+     */
+    private void setNullValue(String key) {
+        try {
+            cacheRedisTemplate.opsForValue().set(key, codecs.nullValue(), NULL_TTL.toMillis(), TimeUnit.MILLISECONDS);
+            if (nearCache != null && nearCache.accepts(key)) {
+                nearCache.put(key, NULL_VALUE, NULL_TTL);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to set null cache for key: {}", key, e);
         }
+    }
 
-        // 缓存未命中，使用分布式锁防止缓存击穿
+    /**
+     * 解码失败（如数据损坏）时按未命中处理
+     */
+    private <T> T decodeQuietly(String key, Supplier<T> decoder) {
+        try {
+            return decoder.get();
+        } catch (Exception e) {
+            log.warn("Failed to decode cache for key: {}", key, e);
+            return null;
+        }
+    }
+
+    /**
+     * 是否需要后台刷新：
+     * 写入后超过 softTtl（按写入时间判断，写入的 TTL 带抖动，不能由剩余 TTL 推算），或按 XFetch 概率提前刷新
+     *
+     * @param cached L1 命中时剩余 TTL 未知（-1），不触发刷新
+     */
+    private boolean shouldRefresh(String key, CachedValue cached, Duration softTtl) {
+        if (cached.remainingMillis() < 0) {
+            return false;
+        }
+        if (softTtl != null && cached.writeTimeMillis() >= 0
+                && System.currentTimeMillis() - cached.writeTimeMillis() >= softTtl.toMillis()) {
+            return true;
+        }
+        return ttlPolicy.shouldRefreshEarly(cached.remainingMillis(), cacheMetrics.averageLoadMillis(key));
+    }
+
+    /**
+     * 提交后台刷新，同一 key 同时只有一个刷新任务
+     */
+    private <T> void submitRefresh(String key, Function<T, Duration> ttlResolver, Supplier<T> loader) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+        try {
+            cacheRefreshExecutor.execute(() -> refresh(key, ttlResolver, loader));
+        } catch (TaskRejectedException e) {
+            refreshingKeys.remove(key);
+            log.debug("Cache refresh queue full, skip refreshing key: {}", key);
+        }
+    }
+
+    /**
+     * 后台刷新：通过分布式锁保证集群内只有一个节点刷新，失败时保留旧值直到 hardTtl 过期
+     */
+    private <T> void refresh(String key, Function<T, Duration> ttlResolver, Supplier<T> loader) {
         String lockKey = LOCK_PREFIX + key;
         boolean locked = false;
-
         try {
-            // 尝试获取锁
             locked = Boolean.TRUE.equals(
                 redisTemplate.opsForValue().setIfAbsent(lockKey, "1", LOCK_TIMEOUT)
             );
-
-            if (locked) {
-                // 获取锁成功，执行 loader 加载数据
-                T data = loader.get();
-                if (data != null) {
-                    set(key, data, ttl);
-                } else {
-                    // 缓存空值，防止缓存穿透（设置较短的 TTL）
-                    set(key, data, Duration.ofMinutes(1));
-                }
-                return data;
+            if (!locked) {
+                cacheMetrics.recordLockContention(key);
+                return;
+            }
+            T data = cacheMetrics.recordLoad(key, loader);
+            if (data != null) {
+                set(key, data, ttlResolver.apply(data));
             } else {
-                // 获取锁失败，等待一小段时间后重试读取缓存
-                Thread.sleep(100);
-                cached = get(key, type);
-                if (cached != null) {
-                    return cached;
-                }
-                // 如果还是没有，直接执行 loader（降级策略）
-                return loader.get();
+                setNullValue(key);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Interrupted while waiting for cache lock: {}", key);
-            return loader.get();
+            broadcastInvalidation(key);
         } catch (Exception e) {
-            log.error("Failed to get or load cache for key: {}", key, e);
-            return loader.get();
+            log.warn("Failed to refresh cache for key: {}", key, e);
         } finally {
+            refreshingKeys.remove(key);
             if (locked) {
-                redisTemplate.delete(lockKey);
+                try {
+                    redisTemplate.delete(lockKey);
+                } catch (Exception e) {
+                    log.warn("Failed to release cache lock for key: {}", key, e);
+                }
             }
         }
     }
 
-    @Override
-    public <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration ttl, Supplier<List<T>> loader) {
-        // 先尝试从缓存获取
-        List<T> cached = getList(key, elementType);
+    /**
+     * 在分布式锁保护下加载数据
+     * 获取锁失败时，按指数退避轮询缓存等待持锁节点写入，超过 LOCK_WAIT 后降级为直接加载
+     */
+    private <T> T loadWithLock(String key, Supplier<CachedValue> cacheReader, Supplier<T> loader,
+                               Function<T, Duration> ttlResolver) {
+        // 排队期间可能已有其他节点写入缓存
+        CachedValue cached = cacheReader.get();
         if (cached != null) {
-            return cached;
+            return unwrap(cached);
         }
 
-        // 缓存未命中，使用分布式锁防止缓存击穿
         String lockKey = LOCK_PREFIX + key;
-        boolean locked = false;
-
+        boolean locked;
         try {
-            // 尝试获取锁
             locked = Boolean.TRUE.equals(
                 redisTemplate.opsForValue().setIfAbsent(lockKey, "1", LOCK_TIMEOUT)
             );
+        } catch (Exception e) {
+            // Redis 不可用，直接加载
+            log.warn("Failed to acquire cache lock for key: {}", key, e);
+            return loader.get();
+        }
 
-            if (locked) {
-                // 获取锁成功，执行 loader 加载数据
-                List<T> data = loader.get();
-                if (data != null && !data.isEmpty()) {
-                    set(key, data, ttl);
-                } else {
-                    // 缓存空列表，防止缓存穿透（设置较短的 TTL）
-                    set(key, data, Duration.ofMinutes(1));
-                }
-                return data;
+        if (!locked) {
+            cacheMetrics.recordLockContention(key);
+            cached = awaitLockHolder(key, cacheReader);
+            if (cached != null) {
+                return unwrap(cached);
+            }
+            // 持锁节点未在等待时间内写入缓存，降级为直接加载
+            return loader.get();
+        }
+
+        try {
+            T data = loader.get();
+            if (data != null) {
+                set(key, data, ttlResolver.apply(data));
             } else {
-                // 获取锁失败，等待一小段时间后重试读取缓存
-                Thread.sleep(100);
-                cached = getList(key, elementType);
+                setNullValue(key);
+            }
+            return data;
+        } finally {
+            try {
+                redisTemplate.delete(lockKey);
+            } catch (Exception e) {
+                log.warn("Failed to release cache lock for key: {}", key, e);
+            }
+        }
+    }
+
+    /**
+     * 等待持锁节点写入缓存
+     */
+    private CachedValue awaitLockHolder(String key, Supplier<CachedValue> cacheReader) {
+        long deadline = System.nanoTime() + LOCK_WAIT.toNanos();
+        long backoffMillis = LOCK_POLL_MIN_MILLIS;
+        try {
+            while (System.nanoTime() < deadline) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                Thread.sleep(Math.max(1, Math.min(backoffMillis, remainingMillis)));
+                CachedValue cached = cacheReader.get();
                 if (cached != null) {
                     return cached;
                 }
-                // 如果还是没有，直接执行 loader（降级策略）
-                return loader.get();
+                backoffMillis = Math.min(backoffMillis * 2, LOCK_POLL_MAX_MILLIS);
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.warn("Interrupted while waiting for cache lock: {}", key);
-            return loader.get();
-        } catch (Exception e) {
-            log.error("Failed to get or load list cache for key: {}", key, e);
-            return loader.get();
-        } finally {
-            if (locked) {
-                redisTemplate.delete(lockKey);
-            }
         }
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (nearCache != null) {
+            CacheStats l1 = nearCache.stats();
+            Map<String, Object> l1Stats = new LinkedHashMap<>();
+            l1Stats.put("hits", l1.hitCount());
+            l1Stats.put("misses", l1.missCount());
+            l1Stats.put("hitRate", l1.hitRate());
+            l1Stats.put("size", nearCache.size());
+            stats.put("l1", l1Stats);
+        }
+        long hits = redisHits.sum();
+        long misses = redisMisses.sum();
+        Map<String, Object> l2Stats = new LinkedHashMap<>();
+        l2Stats.put("hits", hits);
+        l2Stats.put("misses", misses);
+        l2Stats.put("hitRate", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+        stats.put("l2", l2Stats);
+        stats.put("inFlightLoads", singleFlight.inFlightCount());
+        return stats;
+    }
+
+    /**
+     * 解码后的缓存值及其剩余 TTL、写入时间（毫秒，-1 表示未知）
+     */
+    private record CachedValue(Object value, long remainingMillis, long writeTimeMillis) {
     }
-}
\ No newline at end of file
+}
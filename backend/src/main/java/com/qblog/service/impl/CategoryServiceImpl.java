@@ -2,12 +2,22 @@ package com.qblog.service.impl;
 
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.qblog.entity.Category;
+import com.qblog.event.TaxonomyChangedEvent;
 import com.qblog.mapper.CategoryMapper;
 import com.qblog.model.vo.CategoryVO;
+import com.qblog.service.ArticleSummaryService;
+import com.qblog.service.CacheService;
+import com.qblog.service.DictionaryService;
 import com.qblog.service.CategoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.IntStream;
 
@@ -15,11 +25,77 @@ import java.util.stream.IntStream;
  * 分类服务实现
  */
 @Service
+@RequiredArgsConstructor
 public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService {
 
+    private static final String CACHE_CATEGORY_LIST = "category:list";
+    private static final Duration TTL_LIST = Duration.ofHours(1);
+
+    private final CacheService cacheService;
+    private final DictionaryService dictionaryService;
+    private final ArticleSummaryService articleSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     public List<CategoryVO> listWithArticleCount() {
-        return baseMapper.selectCategoryListWithArticleCount();
+        return cacheService.getOrLoadList(CACHE_CATEGORY_LIST, CategoryVO.class, TTL_LIST,
+            baseMapper::selectCategoryListWithArticleCount);
+    }
+
+    @Override
+    public void evictListCache() {
+        cacheService.delete(CACHE_CATEGORY_LIST);
+    }
+
+    /**
+     * 分类变更：清除列表缓存并刷新字典快照
+     * 在事务中调用时提交后执行，否则并发请求可能按未提交前的数据重新加载并标记为新版本
+     */
+    private void onChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictCaches();
+                }
+            });
+        } else {
+            evictCaches();
+        }
+    }
+
+    private void evictCaches() {
+        evictListCache();
+        dictionaryService.invalidate();
+    }
+
+    @Override
+    public boolean save(Category entity) {
+        boolean result = super.save(entity);
+        onChanged();
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateById(Category entity) {
+        boolean result = super.updateById(entity);
+        // 文章列表读模型中冗余了分类名称
+        articleSummaryService.refreshCategory(entity.getId());
+        onChanged();
+        // 文章详情及列表缓存中冗余了分类名称，提交后失效
+        eventPublisher.publishEvent(TaxonomyChangedEvent.ofCategory(this, entity.getId()));
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        articleSummaryService.refreshCategory((Long) id);
+        onChanged();
+        eventPublisher.publishEvent(TaxonomyChangedEvent.ofCategory(this, (Long) id));
+        return result;
     }
 
     @Override
@@ -44,5 +120,6 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         if (!result) {
             throw new RuntimeException("批量更新分类排序失败");
         }
+        onChanged();
     }
 }
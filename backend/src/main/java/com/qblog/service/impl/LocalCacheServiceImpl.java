@@ -0,0 +1,355 @@
+package com.qblog.service.impl;
+
+import cn.hutool.json.JSONUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.qblog.common.cache.CacheBatchResult;
+import com.qblog.common.cache.CacheMetrics;
+import com.qblog.common.cache.TtlPolicy;
+import com.qblog.config.CacheProperties;
+import com.qblog.service.CacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.PatternMatchUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 本地缓存服务实现（基于 Caffeine）
+ * 仅在 redis.enabled=false 时生效，适用于单节点部署
+ * 淘汰策略为 W-TinyLFU，按缓存值大小计算权重，支持每个条目独立的 TTL
+ * 写入的 TTL 带随机抖动，读取时按 XFetch 概率在过期前提前后台刷新
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "spring.redis.enabled", havingValue = "false")
+public class LocalCacheServiceImpl implements CacheService {
+
+    // 空值标记及空列表的 TTL
+    private static final Duration NULL_TTL = Duration.ofMinutes(1);
+    // 空值标记：loader 返回 null 时缓存，命中后直接返回 null，防止缓存穿透
+    private static final Object NULL_VALUE = new Object();
+
+    private final Cache<String, CacheEntry> cache;
+    private final Policy.VarExpiration<String, CacheEntry> expiration;
+    private final ThreadPoolTaskExecutor cacheRefreshExecutor;
+    private final CacheMetrics cacheMetrics;
+    private final TtlPolicy ttlPolicy;
+
+    // 正在后台刷新的 key，保证同一 key 同时只有一个刷新任务
+    private final Set<String> refreshingKeys = ConcurrentHashMap.newKeySet();
+
+    // 计数器不参与淘汰，与 Redis 中的计数 key 语义保持一致
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    // 命名空间版本号
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public LocalCacheServiceImpl(CacheProperties cacheProperties, ThreadPoolTaskExecutor cacheRefreshExecutor,
+                                 CacheMetrics cacheMetrics) {
+        this.cacheRefreshExecutor = cacheRefreshExecutor;
+        this.cacheMetrics = cacheMetrics;
+        this.ttlPolicy = new TtlPolicy(cacheProperties.getTtl().getJitterRatio(),
+                cacheProperties.getTtl().getEarlyRefreshBeta());
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(cacheProperties.getLocal().getMaxWeight())
+                .weigher((String key, CacheEntry entry) -> entry.weight())
+                .expireAfter(new CacheEntryExpiry())
+                .recordStats()
+                .build();
+        this.expiration = cache.policy().expireVariably().orElseThrow();
+        log.info("Local cache enabled, max weight: {}", cacheProperties.getLocal().getMaxWeight());
+    }
+
+    @Override
+    public <T> T get(String key, Class<T> type) {
+        CacheEntry entry = recordLookup(key, cache.getIfPresent(key));
+        if (entry == null || !type.isInstance(entry.value())) {
+            return null;
+        }
+        return type.cast(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> getList(String key, Class<T> elementType) {
+        CacheEntry entry = recordLookup(key, cache.getIfPresent(key));
+        if (entry == null || !(entry.value() instanceof List)) {
+            return null;
+        }
+        return (List<T>) entry.value();
+    }
+
+    @Override
+    public <T> void set(String key, T value, Duration ttl) {
+        if (value == null) {
+            return;
+        }
+        try {
+            cache.put(key, newEntry(key, value, ttl));
+        } catch (Exception e) {
+            log.warn("Failed to set cache for key: {}", key, e);
+        }
+    }
+
+    @Override
+    public <T> CacheBatchResult<T> getAll(Collection<String> keys, Class<T> type) {
+        Map<String, T> hits = new LinkedHashMap<>();
+        List<String> missingKeys = new ArrayList<>();
+        for (String key : keys) {
+            T value = get(key, type);
+            if (value != null) {
+                hits.put(key, value);
+            } else {
+                missingKeys.add(key);
+            }
+        }
+        return new CacheBatchResult<>(hits, missingKeys);
+    }
+
+    @Override
+    public <T> void setAll(Map<String, T> entries, Duration ttl) {
+        entries.forEach((key, value) -> set(key, value, ttl));
+    }
+
+    @Override
+    public void delete(String key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void deleteByPattern(String pattern) {
+        cache.asMap().keySet().removeIf(key -> PatternMatchUtils.simpleMatch(pattern, key));
+    }
+
+    @Override
+    public long getGeneration(String namespace) {
+        AtomicLong generation = generations.get(namespace);
+        return generation == null ? 0L : generation.get();
+    }
+
+    @Override
+    public void bumpGeneration(String namespace) {
+        generations.computeIfAbsent(namespace, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public void broadcast(String message) {
+        // 单节点部署，没有其他节点
+    }
+
+    @Override
+    public void addBroadcastListener(String prefix, Consumer<String> listener) {
+        // 单节点部署，不会收到广播
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return cache.getIfPresent(key) != null;
+    }
+
+    @Override
+    public Long increment(String key) {
+        return counters.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    @Override
+    public Long getAndReset(String key) {
+        AtomicLong counter = counters.get(key);
+        return counter == null ? 0L : counter.getAndSet(0);
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, Class<T> type, Duration ttl, Supplier<T> loader) {
+        return unwrap(getOrLoadEntry(key, loader, data -> ttl));
+    }
+
+    @Override
+    public <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration ttl, Supplier<List<T>> loader) {
+        // 缓存空列表，防止缓存穿透（设置较短的 TTL）
+        return unwrap(getOrLoadEntry(key, loader, data -> data.isEmpty() ? NULL_TTL : ttl));
+    }
+
+    @Override
+    public <T> T getOrLoad(String key, Class<T> type, Duration softTtl, Duration hardTtl, Supplier<T> loader) {
+        CacheEntry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return getOrLoad(key, type, hardTtl, loader);
+        }
+        cacheMetrics.recordHit(key);
+        if (entry.value() != NULL_VALUE && shouldRefresh(key, entry, softTtl)) {
+            submitRefresh(key, loader, data -> hardTtl);
+        }
+        return unwrap(entry);
+    }
+
+    @Override
+    public <T> List<T> getOrLoadList(String key, Class<T> elementType, Duration softTtl, Duration hardTtl,
+                                     Supplier<List<T>> loader) {
+        CacheEntry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return getOrLoadList(key, elementType, hardTtl, loader);
+        }
+        cacheMetrics.recordHit(key);
+        if (entry.value() != NULL_VALUE && shouldRefresh(key, entry, softTtl)) {
+            submitRefresh(key, loader, data -> data.isEmpty() ? NULL_TTL : hardTtl);
+        }
+        return unwrap(entry);
+    }
+
+    /**
+     * 读取缓存，未命中时加载
+     * Caffeine 保证同一个 key 只有一个线程执行 loader，其余线程等待结果，防止缓存击穿
+     */
+    private <T> CacheEntry getOrLoadEntry(String key, Supplier<T> loader, Function<T, Duration> ttlResolver) {
+        CacheEntry entry = recordLookup(key, cache.getIfPresent(key));
+        if (entry != null) {
+            if (entry.value() != NULL_VALUE && shouldRefresh(key, entry, null)) {
+                submitRefresh(key, loader, ttlResolver);
+            }
+            return entry;
+        }
+        boolean[] loaded = new boolean[1];
+        entry = cache.get(key, k -> {
+            loaded[0] = true;
+            return loadEntry(k, loader, ttlResolver);
+        });
+        if (!loaded[0]) {
+            // 由其他线程加载完成
+            cacheMetrics.recordLockContention(key);
+        }
+        return entry;
+    }
+
+    private CacheEntry recordLookup(String key, CacheEntry entry) {
+        if (entry != null) {
+            cacheMetrics.recordHit(key);
+        } else {
+            cacheMetrics.recordMiss(key);
+        }
+        return entry;
+    }
+
+    /**
+     * 执行 loader，返回 null 时写入空值标记（较短 TTL），防止不存在的数据反复穿透到数据库
+     */
+    private <T> CacheEntry loadEntry(String key, Supplier<T> loader, Function<T, Duration> ttlResolver) {
+        T data = cacheMetrics.recordLoad(key, loader);
+        return data == null ? nullEntry(key) : newEntry(key, data, ttlResolver.apply(data));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(CacheEntry entry) {
+        return entry == null || entry.value() == NULL_VALUE ? null : (T) entry.value();
+    }
+
+    /**
+     * 是否需要后台刷新：
+     * 写入后超过 softTtl（按写入时间判断，写入的 TTL 带抖动，不能由剩余 TTL 推算），或按 XFetch 概率提前刷新
+     *
+     * @param softTtl 为 null 时只按 XFetch 判断
+     */
+    private boolean shouldRefresh(String key, CacheEntry entry, Duration softTtl) {
+        if (softTtl != null && System.nanoTime() - entry.writeNanos() >= softTtl.toNanos()) {
+            return true;
+        }
+        Duration remaining = expiration.getExpiresAfter(key).orElse(null);
+        if (remaining == null) {
+            return false;
+        }
+        return ttlPolicy.shouldRefreshEarly(remaining.toMillis(), cacheMetrics.averageLoadMillis(key));
+    }
+
+    /**
+     * 提交后台刷新，同一 key 同时只有一个刷新任务
+     */
+    private <T> void submitRefresh(String key, Supplier<T> loader, Function<T, Duration> ttlResolver) {
+        if (!refreshingKeys.add(key)) {
+            return;
+        }
+        try {
+            cacheRefreshExecutor.execute(() -> {
+                try {
+                    cache.put(key, loadEntry(key, loader, ttlResolver));
+                } catch (Exception e) {
+                    log.warn("Failed to refresh cache for key: {}", key, e);
+                } finally {
+                    refreshingKeys.remove(key);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            refreshingKeys.remove(key);
+            log.debug("Cache refresh queue full, skip refreshing key: {}", key);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> localStats = new LinkedHashMap<>();
+        localStats.put("hits", stats.hitCount());
+        localStats.put("misses", stats.missCount());
+        localStats.put("hitRate", stats.hitRate());
+        localStats.put("evictions", stats.evictionCount());
+        localStats.put("size", cache.estimatedSize());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("local", localStats);
+        return result;
+    }
+
+    private CacheEntry newEntry(String key, Object value, Duration ttl) {
+        // 按 JSON 长度估算占用大小，仅在写入时计算一次
+        int weight = key.length() + JSONUtil.toJsonStr(value).length();
+        return new CacheEntry(value, ttlPolicy.jitter(ttl).toNanos(), weight, System.nanoTime());
+    }
+
+    private CacheEntry nullEntry(String key) {
+        return new CacheEntry(NULL_VALUE, NULL_TTL.toNanos(), key.length() + 1, System.nanoTime());
+    }
+
+    /**
+     * 缓存条目
+     *
+     * @param writeNanos 写入时的 System.nanoTime()，用于判断是否超过 softTtl
+     */
+    private record CacheEntry(Object value, long ttlNanos, int weight, long writeNanos) {
+    }
+
+    /**
+     * 按条目自身的 TTL 计算过期时间
+     */
+    private static class CacheEntryExpiry implements Expiry<String, CacheEntry> {
+
+        @Override
+        public long expireAfterCreate(String key, CacheEntry entry, long currentTime) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CacheEntry entry, long currentTime, long currentDuration) {
+            return entry.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, CacheEntry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
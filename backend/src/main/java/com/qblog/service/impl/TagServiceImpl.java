@@ -4,14 +4,24 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.qblog.entity.ArticleTag;
 import com.qblog.entity.Tag;
+import com.qblog.event.TaxonomyChangedEvent;
 import com.qblog.mapper.TagMapper;
 import com.qblog.model.vo.TagVO;
+import com.qblog.service.ArticleFilterIndex;
+import com.qblog.service.ArticleSummaryService;
 import com.qblog.service.ArticleTagService;
+import com.qblog.service.CacheService;
+import com.qblog.service.DictionaryService;
 import com.qblog.service.TagService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -21,21 +31,103 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagService {
 
+    private static final String CACHE_TAG_LIST = "tag:list";
+    private static final Duration TTL_LIST = Duration.ofHours(1);
+
     private final TagMapper tagMapper;
     private final ArticleTagService articleTagService;
+    private final CacheService cacheService;
+    private final DictionaryService dictionaryService;
+    private final ArticleFilterIndex articleFilterIndex;
+    private final ArticleSummaryService articleSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public List<TagVO> listWithArticleCount() {
-        return tagMapper.selectTagListWithArticleCount();
+        return cacheService.getOrLoadList(CACHE_TAG_LIST, TagVO.class, TTL_LIST,
+            tagMapper::selectTagListWithArticleCount);
+    }
+
+    @Override
+    public void evictListCache() {
+        cacheService.delete(CACHE_TAG_LIST);
+    }
+
+    /**
+     * 标签变更：清除列表缓存并刷新字典快照
+     * 在事务中调用时提交后执行，否则并发请求可能按未提交前的数据重新加载并标记为新版本
+     */
+    private void onChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictCaches();
+                }
+            });
+        } else {
+            evictCaches();
+        }
+    }
+
+    private void evictCaches() {
+        evictListCache();
+        dictionaryService.invalidate();
+    }
+
+    @Override
+    public boolean save(Tag entity) {
+        boolean result = super.save(entity);
+        onChanged();
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean updateById(Tag entity) {
+        boolean result = super.updateById(entity);
+        // 文章列表读模型中冗余了标签名称
+        articleSummaryService.refreshTag(entity.getId());
+        onChanged();
+        // 文章详情及列表缓存中同样冗余了标签名称，提交后失效
+        eventPublisher.publishEvent(TaxonomyChangedEvent.ofTag(this, entity.getId(), getArticleIds(entity.getId())));
+        return result;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean removeById(Serializable id) {
+        boolean result = super.removeById(id);
+        // 关联记录仍在时（未通过 deleteTagWithRelations 删除），从包含该标签的文章中移除
+        articleSummaryService.refreshTag((Long) id);
+        onChanged();
+        eventPublisher.publishEvent(TaxonomyChangedEvent.ofTag(this, (Long) id, getArticleIds((Long) id)));
+        return result;
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public boolean deleteTagWithRelations(Long id) {
+        List<Long> articleIds = getArticleIds(id);
         // 先删除 article_tag 表中的关联记录
         articleTagService.remove(new LambdaQueryWrapper<ArticleTag>()
             .eq(ArticleTag::getTagId, id));
-        // 再删除标签本身
-        return removeById(id);
+        articleFilterIndex.removeTag(id);
+        // 再删除标签本身，并更新原先包含该标签的文章的读模型
+        // 不调用重写的 removeById，否则读模型会再刷新一次，并多发布一个不含文章 ID 的事件
+        boolean result = super.removeById(id);
+        articleSummaryService.refresh(articleIds);
+        onChanged();
+        eventPublisher.publishEvent(TaxonomyChangedEvent.ofTag(this, id, articleIds));
+        return result;
+    }
+
+    private List<Long> getArticleIds(Long tagId) {
+        return articleTagService.list(new LambdaQueryWrapper<ArticleTag>()
+                .select(ArticleTag::getArticleId)
+                .eq(ArticleTag::getTagId, tagId))
+            .stream()
+            .map(ArticleTag::getArticleId)
+            .toList();
     }
 }
@@ -10,7 +10,9 @@ import com.qblog.model.dto.ChangePasswordDTO;
 import com.qblog.model.dto.LoginDTO;
 import com.qblog.model.dto.RegisterDTO;
 import com.qblog.model.vo.UserVO;
+import com.qblog.service.DictionaryService;
 import com.qblog.service.UserService;
+import com.qblog.util.VoConverter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,6 +28,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final DictionaryService dictionaryService;
 
     @Override
     public String login(LoginDTO loginDTO) {
@@ -63,6 +66,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         user.setStatus(1);
         
         save(user);
+        dictionaryService.invalidate();
     }
 
     @Override
@@ -120,8 +124,6 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     }
 
     private UserVO convertToVO(User user) {
-        UserVO vo = new UserVO();
-        BeanUtil.copyProperties(user, vo);
-        return vo;
+        return VoConverter.toUserVO(user);
     }
 }
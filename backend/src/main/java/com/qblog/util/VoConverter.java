@@ -0,0 +1,141 @@
+package com.qblog.util;
+
+import com.qblog.entity.Article;
+import com.qblog.entity.Category;
+import com.qblog.entity.Tag;
+import com.qblog.entity.User;
+import com.qblog.model.vo.ArticleListItemVO;
+import com.qblog.model.vo.ArticleVO;
+import com.qblog.model.vo.CategoryVO;
+import com.qblog.model.vo.TagVO;
+import com.qblog.model.vo.UserVO;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 实体到 VO 的转换
+ * 读取路径上每篇文章都要转换，逐个字段赋值，不使用反射复制属性；实体或 VO 新增字段时需同步修改
+ */
+public final class VoConverter {
+
+    /**
+     * 列表项中时间的格式
+     */
+    public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private VoConverter() {
+    }
+
+    public static UserVO toUserVO(User user) {
+        UserVO vo = new UserVO();
+        vo.setId(user.getId());
+        vo.setUsername(user.getUsername());
+        vo.setNickname(user.getNickname());
+        vo.setAvatar(user.getAvatar());
+        vo.setEmail(user.getEmail());
+        vo.setRole(user.getRole());
+        vo.setCreateTime(user.getCreateTime());
+        return vo;
+    }
+
+    public static CategoryVO toCategoryVO(Category category) {
+        CategoryVO vo = new CategoryVO();
+        vo.setId(category.getId());
+        vo.setName(category.getName());
+        vo.setDescription(category.getDescription());
+        vo.setSort(category.getSort());
+        vo.setCreateTime(category.getCreateTime());
+        return vo;
+    }
+
+    public static TagVO toTagVO(Tag tag) {
+        TagVO vo = new TagVO();
+        vo.setId(tag.getId());
+        vo.setName(tag.getName());
+        vo.setCreateTime(tag.getCreateTime());
+        return vo;
+    }
+
+    /**
+     * 文章详情（不含作者、分类、标签）
+     */
+    public static ArticleVO toArticleVO(Article article) {
+        ArticleVO vo = new ArticleVO();
+        vo.setId(article.getId());
+        vo.setTitle(article.getTitle());
+        vo.setSummary(article.getSummary());
+        vo.setContent(article.getContent());
+        vo.setCoverImage(article.getCoverImage());
+        vo.setViewCount(article.getViewCount());
+        vo.setStatus(article.getStatus());
+        vo.setTop(article.getTop());
+        vo.setCreateTime(article.getCreateTime());
+        vo.setPublishTime(article.getPublishTime());
+        return vo;
+    }
+
+    /**
+     * 浅复制文章详情，用于修改缓存中共享对象的易变字段
+     */
+    public static ArticleVO copyOf(ArticleVO source) {
+        ArticleVO vo = new ArticleVO();
+        vo.setId(source.getId());
+        vo.setTitle(source.getTitle());
+        vo.setSummary(source.getSummary());
+        vo.setContent(source.getContent());
+        vo.setCoverImage(source.getCoverImage());
+        vo.setAuthor(source.getAuthor());
+        vo.setCategory(source.getCategory());
+        vo.setTags(source.getTags());
+        vo.setViewCount(source.getViewCount());
+        vo.setStatus(source.getStatus());
+        vo.setTop(source.getTop());
+        vo.setIsLiked(source.getIsLiked());
+        vo.setIsFavorited(source.getIsFavorited());
+        vo.setCreateTime(source.getCreateTime());
+        vo.setPublishTime(source.getPublishTime());
+        return vo;
+    }
+
+    /**
+     * 文章列表项（不含作者、分类、标签），时间格式化为 yyyy-MM-dd HH:mm:ss
+     */
+    public static ArticleListItemVO toListItemVO(Article article) {
+        ArticleListItemVO vo = new ArticleListItemVO();
+        vo.setId(article.getId());
+        vo.setTitle(article.getTitle());
+        vo.setSummary(article.getSummary());
+        vo.setCoverImage(article.getCoverImage());
+        vo.setViewCount(article.getViewCount());
+        vo.setStatus(article.getStatus());
+        vo.setTop(article.getTop());
+        vo.setCreateTime(format(article.getCreateTime()));
+        vo.setPublishTime(format(article.getPublishTime()));
+        return vo;
+    }
+
+    /**
+     * 浅复制文章列表项，用于修改缓存中共享对象的易变字段
+     */
+    public static ArticleListItemVO copyOf(ArticleListItemVO source) {
+        ArticleListItemVO vo = new ArticleListItemVO();
+        vo.setId(source.getId());
+        vo.setTitle(source.getTitle());
+        vo.setSummary(source.getSummary());
+        vo.setCoverImage(source.getCoverImage());
+        vo.setAuthor(source.getAuthor());
+        vo.setCategory(source.getCategory());
+        vo.setTags(source.getTags());
+        vo.setViewCount(source.getViewCount());
+        vo.setStatus(source.getStatus());
+        vo.setTop(source.getTop());
+        vo.setCreateTime(source.getCreateTime());
+        vo.setPublishTime(source.getPublishTime());
+        return vo;
+    }
+
+    public static String format(LocalDateTime time) {
+        return time == null ? null : time.format(DATE_TIME_FORMATTER);
+    }
+}
@@ -0,0 +1,31 @@
+-- =====================================================
+-- V3: 添加文章列表读模型表 article_summary
+-- 说明: 冗余作者昵称/头像、分类名称、标签，公开文章列表只查询这一张表
+-- 注意: 表中数据由应用维护，启动时发现行数与文章数不一致会自动全量重建，无需手动回填
+-- =====================================================
+
+USE qblog;
+
+CREATE TABLE IF NOT EXISTS `article_summary` (
+    `id` BIGINT NOT NULL COMMENT '文章 ID',
+    `title` VARCHAR(200) NOT NULL COMMENT '文章标题',
+    `summary` VARCHAR(500) DEFAULT NULL COMMENT '文章摘要',
+    `cover_image` VARCHAR(255) DEFAULT NULL COMMENT '封面图 URL',
+    `author_id` BIGINT DEFAULT NULL COMMENT '作者 ID',
+    `author_nickname` VARCHAR(50) DEFAULT NULL COMMENT '作者昵称',
+    `author_avatar` VARCHAR(255) DEFAULT NULL COMMENT '作者头像 URL',
+    `category_id` BIGINT DEFAULT NULL COMMENT '分类 ID',
+    `category_name` VARCHAR(50) DEFAULT NULL COMMENT '分类名称',
+    `tags` TEXT DEFAULT NULL COMMENT '标签 JSON 数组：[{"id":1,"name":"Java"}]',
+    `view_count` INT DEFAULT 0 COMMENT '浏览量',
+    `top` TINYINT DEFAULT 0 COMMENT '是否置顶：0-否，1-是',
+    `status` TINYINT DEFAULT 1 COMMENT '状态：0-草稿，1-已发布（已删除的文章不保存）',
+    `publish_time` DATETIME DEFAULT NULL COMMENT '发布时间',
+    `create_time` DATETIME DEFAULT NULL COMMENT '文章创建时间',
+    `update_time` DATETIME DEFAULT NULL COMMENT '文章更新时间',
+    PRIMARY KEY (`id`),
+    KEY `idx_status_top_publish` (`status`, `top`, `publish_time`),
+    KEY `idx_status_publish` (`status`, `publish_time`),
+    KEY `idx_status_view` (`status`, `view_count`),
+    KEY `idx_category_status_publish` (`category_id`, `status`, `publish_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='文章列表读模型';
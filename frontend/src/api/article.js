@@ -75,3 +75,26 @@ export function getRelatedArticles(id, params) {
     params
   })
 }
+
+/**
+ * 游标分页获取文章列表（无限滚动），params.cursor 为上一页返回的 nextCursor
+ */
+export function getArticleScroll(params) {
+  return request({
+    url: '/articles/scroll',
+    method: 'get',
+    params
+  })
+}
+
+/**
+ * 全文搜索文章，params: { q, page, size }
+ * 返回的 titleHighlight、snippet 为已转义的 HTML，命中词用 em 标签包裹
+ */
+export function searchArticles(params) {
+  return request({
+    url: '/articles/search',
+    method: 'get',
+    params
+  })
+}